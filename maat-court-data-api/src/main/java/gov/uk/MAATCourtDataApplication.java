@@ -3,9 +3,11 @@ package gov.uk;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableAspectJAutoProxy(proxyTargetClass=true)
+@EnableScheduling
 public class MAATCourtDataApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,165 @@
+package gov.uk.courtdata.context;
+
+import gov.uk.courtdata.entity.DefendantMAATDataEntity;
+import gov.uk.courtdata.entity.RepOrderCPDataEntity;
+import gov.uk.courtdata.entity.RepOrderEntity;
+import gov.uk.courtdata.entity.SolicitorMAATDataEntity;
+import gov.uk.courtdata.entity.WqLinkRegisterEntity;
+import gov.uk.courtdata.repository.DefendantMAATDataRepository;
+import gov.uk.courtdata.repository.OffenceRepository;
+import gov.uk.courtdata.repository.RepOrderCPDataRepository;
+import gov.uk.courtdata.repository.RepOrderRepository;
+import gov.uk.courtdata.repository.SolicitorMAATDataRepository;
+import gov.uk.courtdata.repository.WqLinkRegisterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * <code>MessageEntityContext</code> memoizes the MAAT rows read while one message is processed, so that
+ * validators and processors asking for the same row share a single query. The context is bound to the
+ * listener thread by {@link MessageEntityContextAspect}; outside it every call goes straight to the repository.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageEntityContext {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private final RepOrderRepository repOrderRepository;
+    private final RepOrderCPDataRepository repOrderCPDataRepository;
+    private final SolicitorMAATDataRepository solicitorMAATDataRepository;
+    private final DefendantMAATDataRepository defendantMAATDataRepository;
+    private final WqLinkRegisterRepository wqLinkRegisterRepository;
+    private final OffenceRepository offenceRepository;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Opens a context on the current thread.
+     *
+     * @return false if a context was already open, in which case the caller must not close it.
+     */
+    public boolean open() {
+        if (CURRENT.get() != null) {
+            return false;
+        }
+        CURRENT.set(new Scope());
+        return true;
+    }
+
+    public void close() {
+        Scope scope = CURRENT.get();
+        CURRENT.remove();
+        if (scope != null && scope.savedReads > 0) {
+            log.debug("Message entity context saved {} database reads", scope.savedReads);
+        }
+    }
+
+    public boolean isOpen() {
+        return CURRENT.get() != null;
+    }
+
+    public Optional<RepOrderEntity> findRepOrder(final Integer maatId) {
+        return memoize("repOrder", maatId, () -> repOrderRepository.findById(maatId));
+    }
+
+    public Optional<RepOrderCPDataEntity> findRepOrderCPData(final Integer maatId) {
+        return memoize("repOrderCPData", maatId, () -> repOrderCPDataRepository.findByrepOrderId(maatId));
+    }
+
+    public Optional<SolicitorMAATDataEntity> findSolicitorMAATData(final Integer maatId) {
+        return memoize("solicitorMAATData", maatId, () -> solicitorMAATDataRepository.findBymaatId(maatId));
+    }
+
+    public Optional<DefendantMAATDataEntity> findDefendantMAATData(final Integer maatId) {
+        return memoize("defendantMAATData", maatId, () -> defendantMAATDataRepository.findBymaatId(maatId));
+    }
+
+    public List<WqLinkRegisterEntity> findLinkRegisters(final Integer maatId) {
+        return memoize("linkRegister", maatId, () -> wqLinkRegisterRepository.findBymaatId(maatId));
+    }
+
+    /**
+     * Inside a context the link rows are loaded once and counted, as the flows that validate the link
+     * go on to read the same rows. Outside a context a plain count query is used.
+     */
+    public int countLinkRegisters(final Integer maatId) {
+        if (!isOpen()) {
+            return wqLinkRegisterRepository.getCountByMaatId(maatId);
+        }
+        return findLinkRegisters(maatId).size();
+    }
+
+    /**
+     * Drops the memoized link rows after a new link has been registered for the MAAT id.
+     */
+    public void evictLinkRegisters(final Integer maatId) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.values.remove(key("linkRegister", maatId));
+        }
+    }
+
+    /**
+     * ASN sequences of the offences already held for the case, loaded with one query per case.
+     */
+    public Set<String> findOffenceAsnSeqs(final Integer caseId) {
+        return memoize("offenceAsnSeq", caseId, () -> new HashSet<>(offenceRepository.findAsnSeqByCaseId(caseId)));
+    }
+
+    /**
+     * Adds offences written by the current message to the memoized ASN sequences of the case, if loaded.
+     */
+    @SuppressWarnings("unchecked")
+    public void recordOffences(final Integer caseId, final Collection<String> asnSeqs) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            Object loaded = scope.values.get(key("offenceAsnSeq", caseId));
+            if (loaded != null) {
+                ((Set<String>) loaded).addAll(asnSeqs);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T memoize(final String entity, final Integer id, final Supplier<T> loader) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return loader.get();
+        }
+        String key = key(entity, id);
+        if (scope.values.containsKey(key)) {
+            scope.savedReads++;
+            Counter.builder("message.context.reads.saved")
+                    .description("Database reads answered from the per-message entity context")
+                    .tag("entity", entity)
+                    .register(meterRegistry)
+                    .increment();
+            return (T) scope.values.get(key);
+        }
+        T value = loader.get();
+        scope.values.put(key, value);
+        return value;
+    }
+
+    private static String key(final String entity, final Integer id) {
+        return entity + ":" + id;
+    }
+
+    private static final class Scope {
+        private final Map<String, Object> values = new HashMap<>();
+        private int savedReads;
+    }
+}
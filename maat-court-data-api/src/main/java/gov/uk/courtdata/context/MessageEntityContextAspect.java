@@ -0,0 +1,30 @@
+package gov.uk.courtdata.context;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds a {@link MessageEntityContext} to each queue listener invocation.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MessageEntityContextAspect {
+
+    private final MessageEntityContext messageEntityContext;
+
+    @Around("execution(* gov.uk.courtdata.*.service.*.receive(..))")
+    public Object aroundReceive(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean opened = messageEntityContext.open();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (opened) {
+                messageEntityContext.close();
+            }
+        }
+    }
+}
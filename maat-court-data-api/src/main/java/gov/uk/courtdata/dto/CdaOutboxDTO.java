@@ -0,0 +1,21 @@
+package gov.uk.courtdata.dto;
+
+import gov.uk.courtdata.enums.CdaOutboxStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class CdaOutboxDTO {
+    private Long id;
+    private Integer maatId;
+    private String laaTransactionId;
+    private CdaOutboxStatus status;
+    private Integer attempts;
+    private LocalDateTime createdDate;
+    private LocalDateTime nextAttemptDate;
+    private LocalDateTime sentDate;
+    private String lastError;
+}
@@ -0,0 +1,19 @@
+package gov.uk.courtdata.dto;
+
+import gov.uk.courtdata.enums.PublishStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Value
+@Builder(toBuilder = true)
+public class LaaStatusTrackingDTO {
+    private UUID trackingId;
+    private Integer maatId;
+    private PublishStatus status;
+    private LocalDateTime acceptedAt;
+    private LocalDateTime enqueuedAt;
+    private String error;
+}
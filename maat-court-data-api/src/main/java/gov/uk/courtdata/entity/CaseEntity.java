@@ -8,12 +8,13 @@ import java.time.LocalDate;
 
 
 @Data
+@EqualsAndHashCode(callSuper = false)
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
 @Table(name = "XXMLA_CASE", schema = "MLA")
-public class CaseEntity {
+public class CaseEntity extends InsertOnlyEntity {
 
     @Id
     @Column(name = "TX_ID")
@@ -33,5 +34,8 @@ public class CaseEntity {
     @Column(name = "INACTIVE")
     private String inactive;
 
-
+    @Override
+    public Integer getId() {
+        return txId;
+    }
 }
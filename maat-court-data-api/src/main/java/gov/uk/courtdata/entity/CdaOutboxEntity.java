@@ -0,0 +1,42 @@
+package gov.uk.courtdata.entity;
+
+import gov.uk.courtdata.enums.CdaOutboxStatus;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "XXMLA_CDA_OUTBOX", schema = "MLA")
+public class CdaOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cdaOutboxId")
+    @SequenceGenerator(name = "cdaOutboxId", sequenceName = "MLA.CDA_OUTBOX_ID", allocationSize = 1)
+    @Column(name = "ID")
+    private Long id;
+    @Column(name = "MAAT_ID")
+    private Integer maatId;
+    @Column(name = "LAA_TRANSACTION_ID")
+    private String laaTransactionId;
+    @Lob
+    @Column(name = "PAYLOAD")
+    private String payload;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS")
+    private CdaOutboxStatus status;
+    @Column(name = "ATTEMPTS")
+    private Integer attempts;
+    @Column(name = "CREATED_DATE")
+    private LocalDateTime createdDate;
+    @Column(name = "NEXT_ATTEMPT_DATE")
+    private LocalDateTime nextAttemptDate;
+    @Column(name = "SENT_DATE")
+    private LocalDateTime sentDate;
+    @Column(name = "LAST_ERROR")
+    private String lastError;
+}
@@ -6,12 +6,13 @@ import javax.persistence.*;
 import java.time.LocalDate;
 
 @Data
+@EqualsAndHashCode(callSuper = false)
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "XXMLA_DEFENDANT", schema = "MLA")
-public class DefendantEntity {
+public class DefendantEntity extends InsertOnlyEntity {
 
     @Id
     @Column(name = "TX_ID")
@@ -71,5 +72,8 @@ public class DefendantEntity {
     @Column(name = "DATASOURCE")
     private String datasource;
 
-
+    @Override
+    public Integer getId() {
+        return txId;
+    }
 }
@@ -0,0 +1,30 @@
+package gov.uk.courtdata.entity;
+
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.MappedSuperclass;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+
+/**
+ * Base for the write-once XXMLA_* rows whose TX_ID is assigned from a sequence before save.
+ * A freshly built entity reports itself as new so that repository save goes straight to
+ * persist instead of merge, avoiding the select-before-insert. Entities read back from the
+ * database, or already inserted, fall back to the usual merge path.
+ */
+@MappedSuperclass
+public abstract class InsertOnlyEntity implements Persistable<Integer> {
+
+    private transient boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
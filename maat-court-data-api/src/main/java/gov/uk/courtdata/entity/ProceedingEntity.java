@@ -6,12 +6,13 @@ import lombok.*;
 import javax.persistence.*;
 
 @Data
+@EqualsAndHashCode(callSuper = false)
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "XXMLA_PROCEEDING", schema = "MLA")
-public class ProceedingEntity {
+public class ProceedingEntity extends InsertOnlyEntity {
     @Id
     @Column(name = "CREATED_TXID")
     private Integer createdTxid;
@@ -25,4 +26,9 @@ public class ProceedingEntity {
     private Integer removedTxid;
     @Column(name = "REMOVED_USER")
     private String removedUser;
+
+    @Override
+    public Integer getId() {
+        return createdTxid;
+    }
 }
@@ -5,12 +5,13 @@ import lombok.*;
 import javax.persistence.*;
 
 @Data
+@EqualsAndHashCode(callSuper = false)
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "XXMLA_SOLICITOR", schema = "MLA")
-public class SolicitorEntity {
+public class SolicitorEntity extends InsertOnlyEntity {
 
     @Id
     @Column(name = "TX_ID")
@@ -42,5 +43,8 @@ public class SolicitorEntity {
     @Column(name = "ADMIN_EMAIL")
     private String adminEmail;
 
-
+    @Override
+    public Integer getId() {
+        return txId;
+    }
 }
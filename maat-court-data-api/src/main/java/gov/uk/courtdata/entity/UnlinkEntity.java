@@ -9,12 +9,13 @@ import javax.persistence.Id;
 import javax.persistence.Table;
 
 @Data
+@EqualsAndHashCode(callSuper = false)
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "XXMLA_UNLINK_REASON", schema = "MLA")
-public class UnlinkEntity {
+public class UnlinkEntity extends InsertOnlyEntity {
 
     @Id
     @Column(name = "TX_ID")
@@ -25,4 +26,9 @@ public class UnlinkEntity {
     private int reasonId;
     @Column(name = "OTHER_REASON")
     private String otherReason;
+
+    @Override
+    public Integer getId() {
+        return txId;
+    }
 }
@@ -9,12 +9,13 @@ import javax.persistence.Table;
 import java.time.LocalDate;
 
 @Data
+@EqualsAndHashCode(callSuper = false)
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "XXMLA_WQ_CASE", schema = "MLA")
-public class WQCaseEntity {
+public class WQCaseEntity extends InsertOnlyEntity {
 
     @Id
     @Column(name = "TX_ID")
@@ -34,4 +35,8 @@ public class WQCaseEntity {
     @Column(name = "INACTIVE")
     private String inactive;
 
+    @Override
+    public Integer getId() {
+        return txId;
+    }
 }
@@ -11,11 +11,12 @@ import java.time.LocalDate;
 
 @Builder
 @Data
+@EqualsAndHashCode(callSuper = false)
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "XXMLA_WQ_DEFENDANT",schema = "MLA")
-public class WQDefendant {
+public class WQDefendant extends InsertOnlyEntity {
 
     @Id
     @Column(name = "TX_ID")
@@ -55,4 +56,8 @@ public class WQDefendant {
     @Column(name = "EMAIL2")
     private String email2;
 
+    @Override
+    public Integer getId() {
+        return txId;
+    }
 }
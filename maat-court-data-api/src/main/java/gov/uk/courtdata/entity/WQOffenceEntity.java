@@ -11,11 +11,12 @@ import java.time.LocalDate;
 @Builder
 @Setter
 @Data
+@EqualsAndHashCode(callSuper = false)
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "XXMLA_WQ_OFFENCE", schema = "MLA")
-public class WQOffenceEntity {
+public class WQOffenceEntity extends InsertOnlyEntity {
 
     @Id
     @Column(name = "TX_ID")
@@ -49,4 +50,8 @@ public class WQOffenceEntity {
     @Column(name = "APPLICATION_FLAG")
     private Integer applicationFlag;
 
+    @Override
+    public Integer getId() {
+        return txId;
+    }
 }
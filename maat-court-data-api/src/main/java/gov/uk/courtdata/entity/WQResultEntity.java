@@ -10,11 +10,12 @@ import java.time.LocalDate;
 
 @Builder
 @Data
+@EqualsAndHashCode(callSuper = false)
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "XXMLA_WQ_RESULT", schema = "MLA")
-public class WQResultEntity {
+public class WQResultEntity extends InsertOnlyEntity {
 
     @Id
     @Column(name = "TX_ID")
@@ -54,4 +55,8 @@ public class WQResultEntity {
     @Column(name = "SESSION_VALIDATE_DATE")
     private LocalDate sessionValidateDate;
 
+    @Override
+    public Integer getId() {
+        return txId;
+    }
 }
@@ -11,11 +11,12 @@ import java.time.LocalDate;
 @Builder
 @Setter
 @Data
+@EqualsAndHashCode(callSuper = false)
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "XXMLA_WQ_SESSION", schema = "MLA")
-public class WQSessionEntity {
+public class WQSessionEntity extends InsertOnlyEntity {
 
     @Id
     @Column(name = "TX_ID")
@@ -31,4 +32,8 @@ public class WQSessionEntity {
     @Column(name = "SESSIONVALIDATEDATE")
     private LocalDate sessionvalidatedate;
 
+    @Override
+    public Integer getId() {
+        return txId;
+    }
 }
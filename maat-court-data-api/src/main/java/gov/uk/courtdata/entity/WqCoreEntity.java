@@ -6,12 +6,13 @@ import javax.persistence.*;
 import java.time.LocalDate;
 
 @Data
+@EqualsAndHashCode(callSuper = false)
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "XXMLA_WQ_CORE", schema = "MLA")
-public class WqCoreEntity {
+public class WqCoreEntity extends InsertOnlyEntity {
     @Id
     @Column(name = "TX_ID")
     private Integer txId;
@@ -41,4 +42,9 @@ public class WqCoreEntity {
     private Integer retryFlag;
     @Column(name = "MAAT_UPDATE_STATUS")
     private Integer maatUpdateStatus;
+
+    @Override
+    public Integer getId() {
+        return txId;
+    }
 }
@@ -6,12 +6,13 @@ import javax.persistence.*;
 import java.time.LocalDate;
 
 @Data
+@EqualsAndHashCode(callSuper = false)
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "XXMLA_WQ_LINK_REGISTER", schema = "MLA")
-public class WqLinkRegisterEntity {
+public class WqLinkRegisterEntity extends InsertOnlyEntity {
 
     @Id
     @Column(name = "CREATED_TX_ID")
@@ -45,5 +46,8 @@ public class WqLinkRegisterEntity {
     @Column(name = "CASE_OWNER_ID")
     private String caseOwnerId;
 
-
+    @Override
+    public Integer getId() {
+        return createdTxId;
+    }
 }
@@ -0,0 +1,12 @@
+package gov.uk.courtdata.enums;
+
+/**
+ * <code>CdaOutboxStatus</code> is the state of a representation order waiting in the CDA outbox.
+ */
+public enum CdaOutboxStatus {
+
+    PENDING,
+    SENT,
+    FAILED
+
+}
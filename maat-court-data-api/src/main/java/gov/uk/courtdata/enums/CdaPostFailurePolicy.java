@@ -0,0 +1,20 @@
+package gov.uk.courtdata.enums;
+
+/**
+ * <code>CdaPostFailurePolicy</code> is what happens to a laa status update when the MAAT database has been
+ * updated but the post to CDA failed. The message is never failed at that point: the MAAT update is
+ * insert-only, so redelivering it would write the case and session rows a second time.
+ */
+public enum CdaPostFailurePolicy {
+
+    /**
+     * Keep the message as processed and record the CDA post in the outbox, which retries it until CDA
+     * accepts it.
+     */
+    RETRY,
+    /**
+     * Keep the message as processed and only log the failure.
+     */
+    LOG
+
+}
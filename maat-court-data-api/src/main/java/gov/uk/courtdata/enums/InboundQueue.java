@@ -0,0 +1,26 @@
+package gov.uk.courtdata.enums;
+
+/**
+ * <code>InboundQueue</code> is the list of queues consumed by the application.
+ */
+public enum InboundQueue {
+
+    LINK("link"),
+    UNLINK("unlink"),
+    LAA_STATUS("laaStatus"),
+    HEARING_RESULTED("hearingResulted");
+
+    private String value;
+
+    /**
+     * @param value
+     */
+    InboundQueue(String value) {
+        this.value = value;
+    }
+
+    public String value() {
+        return this.value;
+    }
+
+}
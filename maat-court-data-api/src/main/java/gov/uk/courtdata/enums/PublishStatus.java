@@ -0,0 +1,12 @@
+package gov.uk.courtdata.enums;
+
+/**
+ * <code>PublishStatus</code> is the progress of an accepted laa status update towards the queue.
+ */
+public enum PublishStatus {
+
+    ACCEPTED,
+    ENQUEUED,
+    FAILED
+
+}
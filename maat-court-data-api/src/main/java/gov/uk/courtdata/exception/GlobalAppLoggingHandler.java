@@ -1,11 +1,12 @@
 package gov.uk.courtdata.exception;
 
-import com.google.gson.Gson;
 import gov.uk.courtdata.model.LaaTransactionLogging;
+import gov.uk.courtdata.util.LaaTransactionLoggingBuilder;
 import io.sentry.Sentry;
 import io.sentry.event.Breadcrumb;
 import io.sentry.event.BreadcrumbBuilder;
 import io.sentry.event.UserBuilder;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.*;
@@ -15,12 +16,15 @@ import org.springframework.stereotype.Component;
 @Aspect
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class GlobalAppLoggingHandler {
 
     public static final String LAA_TRANSACTION_ID = "laaTransactionId";
     public static final String CASE_URN = "caseUrn";
     public static final String MESSAGE = "message";
 
+    private final SentryEventDispatcher sentryEventDispatcher;
+
 
     /**
      * This method will execute whenever a exception occour in any of the following (service) package and a class has method name receive.
@@ -43,7 +47,11 @@ public class GlobalAppLoggingHandler {
         log.error("Exception StackTrace" + laaTransactionLogging, ex);
 
         Sentry.getContext().recordBreadcrumb(new BreadcrumbBuilder().setMessage(ex.getMessage()).setLevel(Breadcrumb.Level.ERROR).build());
-        Sentry.capture(ex);
+        if (sentryEventDispatcher.isEnabled()) {
+            sentryEventDispatcher.captureError(ex);
+        } else {
+            Sentry.capture(ex);
+        }
         Sentry.clearContext();
     }
 
@@ -55,6 +63,10 @@ public class GlobalAppLoggingHandler {
     @AfterReturning(" execution(* gov.uk.courtdata.*.service.*.receive(..))  ")
     public void afterProcess(JoinPoint joinPoint) {
         log.info("Message from a queue has been processed successfully: {}", MDC.get(MESSAGE));
+        if (sentryEventDispatcher.isEnabled()) {
+            sentryEventDispatcher.recordSuccess();
+            return;
+        }
 
         Sentry.getContext().recordBreadcrumb(new BreadcrumbBuilder()
                 .setMessage("Message from a queue has been processed successfully.").setLevel(Breadcrumb.Level.INFO).build());
@@ -62,12 +74,19 @@ public class GlobalAppLoggingHandler {
 
     /**
      * This method will called every time at the of queue consumer, regardless of the outcome.
+     * When the async telemetry is enabled the outcome has already been recorded, so the context is only cleared
+     * to stop breadcrumbs building up on the listener thread.
      *
      * @param joinPoint
      */
     @After(" execution(* gov.uk.courtdata.*.service.*.receive(..))  ")
     public void afterProcessEnds(JoinPoint joinPoint) {
 
+        if (sentryEventDispatcher.isEnabled()) {
+            Sentry.clearContext();
+            return;
+        }
+
         Sentry.getContext().recordBreadcrumb(new BreadcrumbBuilder()
                 .setMessage("SQS Message processing finished.")
                 .setLevel(Breadcrumb.Level.INFO).build());
@@ -79,6 +98,7 @@ public class GlobalAppLoggingHandler {
      * This method will log the message and also put the message to MDC fo logging in the case of any failure (e.g. exception occur).
      * This method will be called automatically for all the queue (jms) listeners. More specifically classes within
      * service package where method name is receive. For any new queue listener we should follow the same naming convenction.
+     * Only the logging fields are read here, the listener decodes the full payload once.
      *
      * @param joinPoint
      * @param message
@@ -86,8 +106,7 @@ public class GlobalAppLoggingHandler {
     @Before(" execution(* gov.uk.courtdata.*.service.*.receive(..))  && args(message,..) ")
     public void beforeQueueMessageRec(JoinPoint joinPoint, String message) {
 
-        Gson gson = new Gson();
-        LaaTransactionLogging laaTransactionLogging = gson.fromJson(message, LaaTransactionLogging.class);
+        LaaTransactionLogging laaTransactionLogging = LaaTransactionLoggingBuilder.get(message);
         Sentry.getContext().addTag(LAA_TRANSACTION_ID,
                 laaTransactionLogging.getLaaTransactionId() != null ? laaTransactionLogging.getLaaTransactionId().toString() : "");
         Sentry.getContext().addTag(CASE_URN,
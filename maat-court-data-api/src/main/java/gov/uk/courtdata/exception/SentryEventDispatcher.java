@@ -0,0 +1,144 @@
+package gov.uk.courtdata.exception;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.sentry.Sentry;
+import io.sentry.SentryClient;
+import io.sentry.event.Event;
+import io.sentry.event.EventBuilder;
+import io.sentry.event.interfaces.ExceptionInterface;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>SentryEventDispatcher</code> sends queue listener telemetry to Sentry from a single background thread
+ * with a bounded queue, so listener threads never wait on Sentry I/O. Successes are counted locally and only a
+ * sample is sent; events that do not fit in the queue are dropped and counted.
+ * <p>
+ * Events are built on the calling thread, as the Sentry context holding the message tags is thread local.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SentryEventDispatcher {
+
+    public static final String MESSAGE_PROCESSED = "AWS SQS Message processed.";
+
+    private static final String SUCCESS = "success";
+    private static final String FAILURE = "failure";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${sentry.telemetry.async-enabled:false}")
+    private boolean enabled;
+
+    @Value("${sentry.telemetry.success-sample-rate:0.0}")
+    private double successSampleRate;
+
+    @Value("${sentry.telemetry.error-sample-rate:1.0}")
+    private double errorSampleRate;
+
+    @Value("${sentry.telemetry.queue-capacity:500}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sentry-dispatcher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Gauge.builder("sentry.events.queued", executor, e -> e.getQueue().size())
+                .description("Sentry events waiting to be sent")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Counts a successfully processed message and sends a sampled event for it.
+     */
+    public void recordSuccess() {
+        count("queue.messages.processed", "outcome", SUCCESS);
+        if (sampled(successSampleRate, SUCCESS)) {
+            dispatch(new EventBuilder()
+                    .withMessage(MESSAGE_PROCESSED)
+                    .withLevel(Event.Level.INFO), SUCCESS);
+        }
+    }
+
+    /**
+     * Counts a failed message and sends the exception, subject to the error sample rate.
+     *
+     * @param ex
+     */
+    public void captureError(final Throwable ex) {
+        count("queue.messages.processed", "outcome", FAILURE);
+        if (sampled(errorSampleRate, FAILURE)) {
+            dispatch(new EventBuilder()
+                    .withMessage(ex.getMessage())
+                    .withLevel(Event.Level.ERROR)
+                    .withSentryInterface(new ExceptionInterface(ex)), FAILURE);
+        }
+    }
+
+    private boolean sampled(final double rate, final String type) {
+        if (rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate) {
+            return true;
+        }
+        count("sentry.events.skipped", "type", type);
+        return false;
+    }
+
+    private void dispatch(final EventBuilder eventBuilder, final String type) {
+        SentryClient sentryClient = Sentry.getStoredClient();
+        sentryClient.runBuilderHelpers(eventBuilder);
+        Event event = eventBuilder.build();
+        try {
+            executor.execute(() -> send(sentryClient, event, type));
+        } catch (RejectedExecutionException e) {
+            count("sentry.events.dropped", "type", type);
+            log.debug("Sentry dispatch queue is full, dropped {} event", type);
+        }
+    }
+
+    private void send(final SentryClient sentryClient, final Event event, final String type) {
+        try {
+            sentryClient.sendEvent(event);
+            count("sentry.events.sent", "type", type);
+        } catch (RuntimeException e) {
+            count("sentry.events.dropped", "type", type);
+            log.warn("Unable to send {} event to Sentry", type, e);
+        }
+    }
+
+    private void count(final String name, final String tag, final String value) {
+        Counter.builder(name)
+                .tag(tag, value)
+                .register(meterRegistry)
+                .increment();
+    }
+}
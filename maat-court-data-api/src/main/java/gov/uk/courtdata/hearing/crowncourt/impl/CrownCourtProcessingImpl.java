@@ -1,13 +1,12 @@
 package gov.uk.courtdata.hearing.crowncourt.impl;
 
-import gov.uk.courtdata.entity.CrownCourtCode;
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.entity.RepOrderEntity;
 import gov.uk.courtdata.exception.MAATCourtDataException;
 import gov.uk.courtdata.model.hearing.CCOutComeData;
 import gov.uk.courtdata.model.hearing.HearingResulted;
-import gov.uk.courtdata.repository.CrownCourtCodeRepository;
+import gov.uk.courtdata.refdata.CourtReferenceData;
 import gov.uk.courtdata.repository.CrownCourtProcessingRepository;
-import gov.uk.courtdata.repository.RepOrderRepository;
 import gov.uk.courtdata.util.DateUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -24,9 +23,9 @@ public class CrownCourtProcessingImpl {
 
     private final CrownCourtProcessingRepository crownCourtProcessingRepository;
 
-    private final RepOrderRepository repOrderRepository;
+    private final MessageEntityContext messageEntityContext;
 
-    private final CrownCourtCodeRepository crownCourtCodeRepository;
+    private final CourtReferenceData courtReferenceData;
 
     @Value("${spring.datasource.username}")
     private String dbUser;
@@ -36,7 +35,7 @@ public class CrownCourtProcessingImpl {
 
         CCOutComeData ccutComeData = hearingResulted.getCcOutComeData();
         final Integer maatId = hearingResulted.getMaatId();
-        final Optional<RepOrderEntity> optionalRepEntity = repOrderRepository.findById(maatId);
+        final Optional<RepOrderEntity> optionalRepEntity = messageEntityContext.findRepOrder(maatId);
 
 
         if (optionalRepEntity.isPresent()) {
@@ -75,8 +74,7 @@ public class CrownCourtProcessingImpl {
     }
 
     private String getCCCode(String ouCode) {
-        Optional<CrownCourtCode> optCrownCourtCode = crownCourtCodeRepository.findByOuCode(ouCode);
-        CrownCourtCode crownCourtCode = optCrownCourtCode.orElseThrow(() -> new MAATCourtDataException("Crown Court Code Look Up is Failed"));
-        return crownCourtCode.getCode();
+        return courtReferenceData.findCrownCourtCode(ouCode)
+                .orElseThrow(() -> new MAATCourtDataException("Crown Court Code Look Up is Failed"));
     }
 }
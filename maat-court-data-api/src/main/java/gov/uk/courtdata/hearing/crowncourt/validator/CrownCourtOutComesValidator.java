@@ -1,31 +1,22 @@
 package gov.uk.courtdata.hearing.crowncourt.validator;
 
-import gov.uk.courtdata.entity.CrownCourtOutComeEntity;
 import gov.uk.courtdata.exception.MAATCourtDataException;
 import gov.uk.courtdata.model.hearing.HearingResulted;
-import gov.uk.courtdata.repository.CrownCourtOutcomeRepository;
+import gov.uk.courtdata.refdata.CourtReferenceData;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.Objects;
-import java.util.stream.Collectors;
-
 @Component
 @RequiredArgsConstructor
 public class CrownCourtOutComesValidator {
 
-    private final CrownCourtOutcomeRepository crownCourtOutcomeRepository;
+    private final CourtReferenceData courtReferenceData;
 
     public void validate(final HearingResulted hearingResulted) {
 
         final String ccOutcome = hearingResulted.getCcOutComeData().getCcooOutcome();
 
-        boolean isValidOutCome = crownCourtOutcomeRepository
-                .findAll()
-                .stream()
-                .map(CrownCourtOutComeEntity::getOutcome)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList()).contains(ccOutcome);
+        boolean isValidOutCome = courtReferenceData.isCrownCourtOutcome(ccOutcome);
 
         if (!isValidOutCome) {
             throw new MAATCourtDataException("Invalid Crown Court Outcome : "
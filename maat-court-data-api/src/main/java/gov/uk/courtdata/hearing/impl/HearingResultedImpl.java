@@ -1,5 +1,6 @@
 package gov.uk.courtdata.hearing.impl;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.entity.WqLinkRegisterEntity;
 import gov.uk.courtdata.enums.JurisdictionType;
 import gov.uk.courtdata.enums.WQType;
@@ -7,17 +8,18 @@ import gov.uk.courtdata.hearing.dto.HearingDTO;
 import gov.uk.courtdata.hearing.processor.HearingWQProcessor;
 import gov.uk.courtdata.hearing.mapper.HearingDTOMapper;
 import gov.uk.courtdata.hearing.processor.WQCoreProcessor;
+import gov.uk.courtdata.identifier.IdentifierAllocator;
 import gov.uk.courtdata.model.Offence;
 import gov.uk.courtdata.model.Result;
 import gov.uk.courtdata.model.hearing.HearingResulted;
 import gov.uk.courtdata.processor.OffenceCodeRefDataProcessor;
 import gov.uk.courtdata.processor.ResultCodeRefDataProcessor;
-import gov.uk.courtdata.repository.IdentifierRepository;
-import gov.uk.courtdata.repository.WqLinkRegisterRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -27,13 +29,18 @@ public class HearingResultedImpl {
 
 
     private final HearingDTOMapper hearingDTOMapper;
-    private final IdentifierRepository identifierRepository;
-    private final WqLinkRegisterRepository wqLinkRegisterRepository;
+    private final IdentifierAllocator identifierAllocator;
+    private final MessageEntityContext messageEntityContext;
     private final HearingWQProcessor hearingWQProcessor;
     private final ResultCodeRefDataProcessor resultCodeRefDataProcessor;
     private final OffenceCodeRefDataProcessor offenceCodeRefDataProcessor;
     private final WQCoreProcessor wqCoreProcessor;
 
+    @Value("${hearing.wq.batch.enabled:false}")
+    private boolean batchEnabled;
+
+    @Value("${hearing.wq.batch.fallback-per-result:true}")
+    private boolean fallbackPerResult;
 
     /**
      * @param hearingResulted
@@ -41,9 +48,10 @@ public class HearingResultedImpl {
     public void execute(final HearingResulted hearingResulted) {
 
         List<WqLinkRegisterEntity> wqLinkRegisterEntities =
-                wqLinkRegisterRepository.findBymaatId(hearingResulted.getMaatId());
+                messageEntityContext.findLinkRegisters(hearingResulted.getMaatId());
 
         WqLinkRegisterEntity wqLinkReg = wqLinkRegisterEntities.iterator().next();
+        final List<HearingDTO> hearingDTOs = new ArrayList<>();
 
         log.info("Begin Work Queue  Notification...");
         hearingResulted.getDefendant().getOffences()
@@ -53,18 +61,19 @@ public class HearingResultedImpl {
                         final Integer resultCode = Integer.parseInt(result.getResultCode());
                         resultCodeRefDataProcessor.processResultCode(resultCode);
                         if (isWorkQueueProcessingRequired(resultCode, hearingResulted)) {
-                            processResults(hearingResulted, wqLinkReg, offence, result);
+                            hearingDTOs.add(toHearingDTO(hearingResulted, wqLinkReg, offence, result));
                         }
                     });
 
                 });
+        processResults(hearingDTOs);
         log.info("Finished Work Queue Notification processing.");
 
 
     }
 
 
-    private void processResults(HearingResulted hearingResulted, WqLinkRegisterEntity wqLinkReg, Offence offence, Result result) {
+    private HearingDTO toHearingDTO(HearingResulted hearingResulted, WqLinkRegisterEntity wqLinkReg, Offence offence, Result result) {
 
         HearingDTO hearingDTO =
                 hearingDTOMapper.toHearingDTO(hearingResulted,
@@ -72,11 +81,43 @@ public class HearingResultedImpl {
                         getNextTxId(), offence, result);
 
         log.debug("Hearing resulted mapped to Hearing Court DTO: {}", hearingDTO.toString());
+        return hearingDTO;
+    }
+
+    /**
+     * In batch mode all results are written in one transaction. If that fails and the fallback is enabled,
+     * the results are written again one transaction per result so that a single bad result does not hold
+     * back the ones before it.
+     *
+     * @param hearingDTOs
+     */
+    private void processResults(final List<HearingDTO> hearingDTOs) {
+
+        if (hearingDTOs.isEmpty()) {
+            return;
+        }
+        if (batchEnabled) {
+            try {
+                hearingWQProcessor.processAll(hearingDTOs);
+                log.info("Completed {} results in one batch", hearingDTOs.size());
+                return;
+            } catch (RuntimeException e) {
+                if (!fallbackPerResult) {
+                    throw e;
+                }
+                log.warn("Batched WQ processing failed for {} results, processing one result at a time", hearingDTOs.size(), e);
+            }
+        }
+        hearingDTOs.forEach(this::processResult);
+    }
+
+    private void processResult(final HearingDTO hearingDTO) {
 
+        final String offenceCode = hearingDTO.getOffence().getOffenceCode();
         final Integer resultCode = hearingDTO.getResult().getResultCode();
-        log.info("Start process offence code {} and result code {}", offence.getOffenceCode(), resultCode);
+        log.info("Start process offence code {} and result code {}", offenceCode, resultCode);
         hearingWQProcessor.process(hearingDTO);
-        log.info("Completed  offence code {} and result code {}", offence.getOffenceCode(), resultCode);
+        log.info("Completed  offence code {} and result code {}", offenceCode, resultCode);
     }
 
 
@@ -86,7 +127,7 @@ public class HearingResultedImpl {
      * @return
      */
     private Integer getNextTxId() {
-        return identifierRepository.getTxnID();
+        return identifierAllocator.getTxnID();
     }
 
     private boolean isWorkQueueProcessingRequired(Integer resultCode, HearingResulted hearingResulted) {
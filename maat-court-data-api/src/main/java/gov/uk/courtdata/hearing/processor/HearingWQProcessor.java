@@ -1,6 +1,12 @@
 package gov.uk.courtdata.hearing.processor;
 
 
+import gov.uk.courtdata.entity.WQCaseEntity;
+import gov.uk.courtdata.entity.WQDefendant;
+import gov.uk.courtdata.entity.WQOffenceEntity;
+import gov.uk.courtdata.entity.WQResultEntity;
+import gov.uk.courtdata.entity.WQSessionEntity;
+import gov.uk.courtdata.entity.WqCoreEntity;
 import gov.uk.courtdata.exception.MAATCourtDataException;
 import gov.uk.courtdata.hearing.dto.HearingDTO;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +14,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  *
  */
@@ -45,4 +55,34 @@ public class HearingWQProcessor {
         log.info("Create WQ core");
         wqCoreProcessor.process(hearingDTO);
     }
+
+    /**
+     * Writes the WQ rows for every result of a hearing in one transaction. All rows are built before the
+     * first insert so that the inserts for each table can be sent to the database as one JDBC batch.
+     *
+     * @param hearingDTOs one entry per offence/result pair
+     */
+    @Transactional(rollbackFor = MAATCourtDataException.class)
+    public void processAll(final List<HearingDTO> hearingDTOs) {
+
+        log.info("Build WQ rows for {} results", hearingDTOs.size());
+        final List<WQCaseEntity> cases = build(hearingDTOs, wqCaseProcessor::build);
+        final List<WQSessionEntity> sessions = build(hearingDTOs, wqSessionProcessor::build);
+        final List<WQDefendant> defendants = build(hearingDTOs, wqDefendantProcessor::build);
+        final List<WQOffenceEntity> offences = build(hearingDTOs, wqOffenceProcessor::build);
+        final List<WQResultEntity> results = build(hearingDTOs, wqResultProcessor::build);
+        final List<WqCoreEntity> cores = build(hearingDTOs, wqCoreProcessor::build);
+
+        log.info("Create WQ case, session, defendant, offence, result and core rows");
+        wqCaseProcessor.saveAll(cases);
+        wqSessionProcessor.saveAll(sessions);
+        wqDefendantProcessor.saveAll(defendants);
+        wqOffenceProcessor.saveAll(offences);
+        wqResultProcessor.saveAll(results);
+        wqCoreProcessor.saveAll(cores);
+    }
+
+    private static <T> List<T> build(final List<HearingDTO> hearingDTOs, final Function<HearingDTO, T> builder) {
+        return hearingDTOs.stream().map(builder).collect(Collectors.toList());
+    }
 }
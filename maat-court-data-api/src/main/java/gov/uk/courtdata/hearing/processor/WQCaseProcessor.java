@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
@@ -21,6 +22,14 @@ public class WQCaseProcessor {
      * @param magsCourtDTO
      */
     public void process(final HearingDTO magsCourtDTO) {
+        wqCaseRepository.save(build(magsCourtDTO));
+    }
+
+    public void saveAll(final List<WQCaseEntity> entities) {
+        wqCaseRepository.saveAll(entities);
+    }
+
+    public WQCaseEntity build(final HearingDTO magsCourtDTO) {
 
 
         WQCaseEntity wqCaseEntity = WQCaseEntity.builder().caseId(magsCourtDTO.getCaseId())
@@ -32,7 +41,7 @@ public class WQCaseProcessor {
                 .cjsAreaCode(magsCourtDTO.getCjsAreaCode())
                 .proceedingId(magsCourtDTO.getProceedingId())
                 .build();
-        wqCaseRepository.save(wqCaseEntity);
+        return wqCaseEntity;
     }
 
     /**
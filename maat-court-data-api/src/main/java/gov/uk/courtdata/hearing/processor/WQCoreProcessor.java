@@ -1,15 +1,17 @@
 package gov.uk.courtdata.hearing.processor;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.entity.WqCoreEntity;
 import gov.uk.courtdata.entity.XLATResultEntity;
 import gov.uk.courtdata.hearing.dto.HearingDTO;
-import gov.uk.courtdata.repository.OffenceRepository;
+import gov.uk.courtdata.refdata.XLATReferenceCache;
 import gov.uk.courtdata.repository.WqCoreRepository;
 import gov.uk.courtdata.repository.XLATResultRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static gov.uk.courtdata.constants.CourtDataConstants.MAGS_PROCESSING_SYSTEM_USER;
@@ -21,10 +23,19 @@ public class WQCoreProcessor {
 
     private final WqCoreRepository wqCoreRepository;
     private final XLATResultRepository xlatResultRepository;
-    private final OffenceRepository offenceRepository;
+    private final MessageEntityContext messageEntityContext;
+    private final XLATReferenceCache xlatReferenceCache;
 
 
     public void process(final HearingDTO magsCourtDTO) {
+        wqCoreRepository.save(build(magsCourtDTO));
+    }
+
+    public void saveAll(final List<WqCoreEntity> entities) {
+        wqCoreRepository.saveAll(entities);
+    }
+
+    public WqCoreEntity build(final HearingDTO magsCourtDTO) {
 
 
         WqCoreEntity wqCoreEntity = WqCoreEntity.builder()
@@ -37,24 +48,24 @@ public class WQCoreProcessor {
                 .wqStatus(WAITING.value())
                 .maatUpdateStatus(2) // No pre-processing status required here so set to ready for processing.
                 .build();
-        wqCoreRepository.save(wqCoreEntity);
-
+        return wqCoreEntity;
     }
 
     /**
      * Check if there is an offence for the case and seq no, if not then a new offence
      * has to be created before processing result. This requires WQ core extended processing
      * with '0'. This be picked up by in bound processing procedure to act accordingly.
+     * The asn seqs of the case are loaded once per message and shared by every result.
      *
      * @param magsCourtDTO
      * @return
      */
     private int processIfNewOffence(final HearingDTO magsCourtDTO) {
 
-        Integer offenceCount =
-                offenceRepository.getOffenceCountForAsnSeq(magsCourtDTO.getCaseId(), magsCourtDTO.getOffence().getAsnSeq());
+        boolean offenceExists = messageEntityContext.findOffenceAsnSeqs(magsCourtDTO.getCaseId())
+                .contains(magsCourtDTO.getOffence().getAsnSeq());
 
-        return offenceCount == 0 ? 0 : 99;
+        return offenceExists ? 99 : 0;
     }
 
     /**
@@ -65,11 +76,17 @@ public class WQCoreProcessor {
      */
     public int findWQType(final Integer resultCode) {
 
+        Optional<Integer> cachedWqType = xlatReferenceCache.findWqType(resultCode);
+        if (cachedWqType.isPresent()) {
+            return cachedWqType.get();
+        }
+
         Optional<XLATResultEntity> xlatResult =
                 xlatResultRepository.findById(resultCode);
         XLATResultEntity xlatResultEntity = xlatResult.orElse(null);
 
         assert xlatResultEntity != null;
+        xlatReferenceCache.putResult(resultCode, xlatResultEntity.getWqType());
         return xlatResultEntity.getWqType();
 
 
@@ -8,6 +8,8 @@ import gov.uk.courtdata.util.DateUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 public class WQDefendantProcessor {
@@ -15,6 +17,14 @@ public class WQDefendantProcessor {
     private final WQDefendantRepository defendantRepository;
 
     public void process(final HearingDTO magsCourtDTO) {
+        defendantRepository.save(build(magsCourtDTO));
+    }
+
+    public void saveAll(final List<WQDefendant> entities) {
+        defendantRepository.saveAll(entities);
+    }
+
+    public WQDefendant build(final HearingDTO magsCourtDTO) {
 
         DefendantDTO defendantDTO = magsCourtDTO.getDefendant();
 
@@ -38,8 +48,7 @@ public class WQDefendantProcessor {
                 .email2(defendantDTO.getEmail2())
                 .build();
 
-        defendantRepository.save(defendantEntity);
-
+        return defendantEntity;
     }
 
 }
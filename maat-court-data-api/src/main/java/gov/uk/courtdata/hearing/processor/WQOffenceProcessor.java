@@ -11,6 +11,8 @@ import org.springframework.stereotype.Component;
 import static gov.uk.courtdata.constants.CourtDataConstants.G_NO;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 public class WQOffenceProcessor {
@@ -18,6 +20,14 @@ public class WQOffenceProcessor {
     private final WQOffenceRepository wqOffenceRepository;
 
     public void process(final HearingDTO magsCourtDTO) {
+        wqOffenceRepository.save(build(magsCourtDTO));
+    }
+
+    public void saveAll(final List<WQOffenceEntity> entities) {
+        wqOffenceRepository.saveAll(entities);
+    }
+
+    public WQOffenceEntity build(final HearingDTO magsCourtDTO) {
 
 
         final OffenceDTO offence = magsCourtDTO.getOffence();
@@ -39,7 +49,7 @@ public class WQOffenceProcessor {
                 .applicationFlag(G_NO)
                 .build();
 
-        wqOffenceRepository.save(wqOffenceEntity);
+        return wqOffenceEntity;
     }
 
 
@@ -7,6 +7,8 @@ import gov.uk.courtdata.util.DateUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 public class WQResultProcessor {
@@ -17,6 +19,14 @@ public class WQResultProcessor {
      * @param magsCourtDTO
      */
     public void process(final HearingDTO magsCourtDTO) {
+        wqResultRepository.save(build(magsCourtDTO));
+    }
+
+    public void saveAll(final List<WQResultEntity> entities) {
+        wqResultRepository.saveAll(entities);
+    }
+
+    public WQResultEntity build(final HearingDTO magsCourtDTO) {
 
 
         WQResultEntity wqResultEntity = WQResultEntity.builder()
@@ -39,7 +49,7 @@ public class WQResultProcessor {
                 .sessionValidateDate(DateUtil.parse(magsCourtDTO.getSession().getSessionValidatedDate()))
                 .build();
 
-        wqResultRepository.save(wqResultEntity);
+        return wqResultEntity;
     }
 
 
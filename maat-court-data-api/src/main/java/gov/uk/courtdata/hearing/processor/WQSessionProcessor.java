@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
@@ -20,7 +21,15 @@ public class WQSessionProcessor {
     /**
      * @param magsCourtDTO
      */
-    public void process(HearingDTO magsCourtDTO) {
+    public void process(final HearingDTO magsCourtDTO) {
+        wqSessionRepository.save(build(magsCourtDTO));
+    }
+
+    public void saveAll(final List<WQSessionEntity> entities) {
+        wqSessionRepository.saveAll(entities);
+    }
+
+    public WQSessionEntity build(final HearingDTO magsCourtDTO) {
 
         WQSessionEntity wqSessionEntity = WQSessionEntity.builder()
                 .caseId(magsCourtDTO.getCaseId())
@@ -31,8 +40,7 @@ public class WQSessionProcessor {
                 .sessionvalidatedate(getSessionDate(magsCourtDTO.getSession().getSessionValidatedDate()))
                 .build();
 
-        wqSessionRepository.save(wqSessionEntity);
-
+        return wqSessionEntity;
     }
 
     /**
@@ -1,6 +1,9 @@
 package gov.uk.courtdata.hearing.service;
 
 import com.google.gson.Gson;
+import gov.uk.courtdata.enums.InboundQueue;
+import gov.uk.courtdata.jms.MaatIdOrderingGate;
+import gov.uk.courtdata.jms.QueueWorkScheduler;
 import gov.uk.courtdata.model.hearing.HearingResulted;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,11 +20,17 @@ public class HearingResultedListener {
 
     private final HearingResultedService hearingResultedService;
 
-    @JmsListener(destination = "${cloud-platform.aws.sqs.queue.hearingResulted}")
+    private final MaatIdOrderingGate maatIdOrderingGate;
+
+    private final QueueWorkScheduler queueWorkScheduler;
+
+    @JmsListener(destination = "${cloud-platform.aws.sqs.queue.hearingResulted}",
+            containerFactory = "hearingResultedListenerContainerFactory")
     public void receive(@Payload final String message)   {
 
         HearingResulted hearingResulted = gson.fromJson(message, HearingResulted.class);
-        hearingResultedService.execute(hearingResulted);
+        maatIdOrderingGate.run(hearingResulted.getMaatId(), () -> queueWorkScheduler.run(InboundQueue.HEARING_RESULTED,
+                () -> hearingResultedService.execute(hearingResulted)));
     }
 }
 
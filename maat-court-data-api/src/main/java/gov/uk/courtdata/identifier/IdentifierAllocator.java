@@ -0,0 +1,114 @@
+package gov.uk.courtdata.identifier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * <code>IdentifierAllocator</code> hands out MLA sequence values from blocks fetched in a single round trip.
+ * Values are unique but, with several instances running, only increase per instance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdentifierAllocator {
+
+    private static final String ORACLE_BLOCK_QUERY = "SELECT %s.NEXTVAL FROM DUAL CONNECT BY LEVEL <= ?";
+    private static final String PORTABLE_BLOCK_QUERY = "SELECT NEXT VALUE FOR %s FROM SYSTEM_RANGE(1, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdentifierProperties identifierProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<IdentifierSequence, SequenceBlockPool> pools = new EnumMap<>(IdentifierSequence.class);
+    private final Map<IdentifierSequence, Timer> refillTimers = new EnumMap<>(IdentifierSequence.class);
+    private final ExecutorService refillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "identifier-refill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Boolean oracle;
+
+    @PostConstruct
+    public void init() {
+        for (IdentifierSequence sequence : IdentifierSequence.values()) {
+            refillTimers.put(sequence, Timer.builder("identifier.block.refill")
+                    .description("Time taken to fetch a block of sequence values")
+                    .tag("sequence", sequence.name())
+                    .register(meterRegistry));
+            pools.put(sequence, new SequenceBlockPool(sequence,
+                    size -> fetchBlock(sequence, size),
+                    identifierProperties.blockSizeFor(sequence),
+                    identifierProperties.getRefillThreshold(),
+                    refillExecutor));
+        }
+    }
+
+    public Integer getTxnID() {
+        return next(IdentifierSequence.TXID);
+    }
+
+    public Integer getCaseID() {
+        return next(IdentifierSequence.CASEID);
+    }
+
+    public Integer getProceedingID() {
+        return next(IdentifierSequence.PROCEDING);
+    }
+
+    public Integer getLibraID() {
+        return next(IdentifierSequence.LIBRAID);
+    }
+
+    public Integer next(final IdentifierSequence sequence) {
+        return pools.get(sequence).next();
+    }
+
+    /**
+     * Values fetched but never handed out are lost when the instance stops, record how many.
+     */
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+        pools.forEach((sequence, pool) -> {
+            int wasted = pool.remaining();
+            Counter.builder("identifier.values.wasted")
+                    .description("Sequence values fetched but not used before shutdown")
+                    .tag("sequence", sequence.name())
+                    .register(meterRegistry)
+                    .increment(wasted);
+            log.info("Sequence {} released with {} unused values", sequence, wasted);
+        });
+    }
+
+    private int[] fetchBlock(final IdentifierSequence sequence, final int size) {
+        final String query = String.format(isOracle() ? ORACLE_BLOCK_QUERY : PORTABLE_BLOCK_QUERY, sequence.sequenceName());
+        return refillTimers.get(sequence).record(() -> {
+            List<Integer> values = jdbcTemplate.queryForList(query, Integer.class, size);
+            return values.stream().mapToInt(Integer::intValue).sorted().toArray();
+        });
+    }
+
+    private boolean isOracle() {
+        if (oracle == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            oracle = product != null && product.toLowerCase().contains("oracle");
+        }
+        return oracle;
+    }
+}
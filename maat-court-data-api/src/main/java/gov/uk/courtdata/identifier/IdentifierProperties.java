@@ -0,0 +1,38 @@
+package gov.uk.courtdata.identifier;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * <code>IdentifierProperties</code> block sizes for the identifier allocator.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "identifier.allocation")
+public class IdentifierProperties {
+
+    /**
+     * Number of values fetched from a sequence in one round trip.
+     */
+    private int blockSize = 20;
+
+    /**
+     * Remaining values in the current block at which the next block is fetched in the background.
+     */
+    private int refillThreshold = 5;
+
+    /**
+     * Per sequence override of the block size, keyed by {@link IdentifierSequence} name.
+     */
+    private Map<IdentifierSequence, Integer> blockSizes = new HashMap<>();
+
+
+    public int blockSizeFor(final IdentifierSequence sequence) {
+        return Math.max(1, blockSizes.getOrDefault(sequence, blockSize));
+    }
+}
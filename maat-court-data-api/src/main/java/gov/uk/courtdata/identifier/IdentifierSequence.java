@@ -0,0 +1,22 @@
+package gov.uk.courtdata.identifier;
+
+/**
+ * <code>IdentifierSequence</code> the MLA sequences handed out by the {@link IdentifierAllocator}.
+ */
+public enum IdentifierSequence {
+
+    TXID("MLA.TXID"),
+    CASEID("MLA.CASEID"),
+    PROCEDING("MLA.PROCEDING"),
+    LIBRAID("MLA.LIBRAID");
+
+    private final String sequenceName;
+
+    IdentifierSequence(final String sequenceName) {
+        this.sequenceName = sequenceName;
+    }
+
+    public String sequenceName() {
+        return this.sequenceName;
+    }
+}
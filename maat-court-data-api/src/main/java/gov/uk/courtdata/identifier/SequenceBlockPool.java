@@ -0,0 +1,113 @@
+package gov.uk.courtdata.identifier;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+/**
+ * <code>SequenceBlockPool</code> hands out the values of one sequence from an in-memory block.
+ * Values are claimed with a single atomic increment, the next block is fetched in the background
+ * once the current one runs low and only an exhausted block falls back to a synchronous fetch.
+ */
+@Slf4j
+class SequenceBlockPool {
+
+    private final IdentifierSequence sequence;
+    private final IntFunction<int[]> blockFetcher;
+    private final int blockSize;
+    private final int refillThreshold;
+    private final Executor refillExecutor;
+
+    private final AtomicReference<Block> current = new AtomicReference<>(Block.EMPTY);
+    private final AtomicReference<Block> standby = new AtomicReference<>();
+    private final AtomicBoolean refillInProgress = new AtomicBoolean();
+
+    SequenceBlockPool(final IdentifierSequence sequence,
+                      final IntFunction<int[]> blockFetcher,
+                      final int blockSize,
+                      final int refillThreshold,
+                      final Executor refillExecutor) {
+        this.sequence = sequence;
+        this.blockFetcher = blockFetcher;
+        this.blockSize = blockSize;
+        this.refillThreshold = refillThreshold;
+        this.refillExecutor = refillExecutor;
+    }
+
+    /**
+     * @return the next value of the sequence.
+     */
+    int next() {
+        while (true) {
+            Block block = current.get();
+            int index = block.cursor.getAndIncrement();
+            if (index < block.values.length) {
+                if (block.values.length - index <= refillThreshold) {
+                    scheduleRefill();
+                }
+                return block.values[index];
+            }
+            advance(block);
+        }
+    }
+
+    /**
+     * @return number of values fetched but not handed out yet.
+     */
+    int remaining() {
+        Block spare = standby.get();
+        return current.get().remaining() + (spare != null ? spare.remaining() : 0);
+    }
+
+    private synchronized void advance(final Block exhausted) {
+        if (current.get() != exhausted) {
+            return;
+        }
+        Block next = standby.getAndSet(null);
+        if (next == null) {
+            log.debug("Sequence {} exhausted before background refill, fetching synchronously", sequence);
+            next = new Block(blockFetcher.apply(blockSize));
+        }
+        current.set(next);
+    }
+
+    private void scheduleRefill() {
+        if (standby.get() != null || !refillInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refillExecutor.execute(() -> {
+                try {
+                    standby.compareAndSet(null, new Block(blockFetcher.apply(blockSize)));
+                } catch (RuntimeException ex) {
+                    log.warn("Background refill of sequence {} failed: {}", sequence, ex.getMessage());
+                } finally {
+                    refillInProgress.set(false);
+                }
+            });
+        } catch (RuntimeException ex) {
+            refillInProgress.set(false);
+            log.warn("Background refill of sequence {} not scheduled: {}", sequence, ex.getMessage());
+        }
+    }
+
+    private static final class Block {
+
+        private static final Block EMPTY = new Block(new int[0]);
+
+        private final int[] values;
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        private Block(final int[] values) {
+            this.values = values;
+        }
+
+        private int remaining() {
+            return Math.max(0, values.length - cursor.get());
+        }
+    }
+}
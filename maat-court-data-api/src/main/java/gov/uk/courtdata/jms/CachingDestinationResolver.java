@@ -0,0 +1,30 @@
+package gov.uk.courtdata.jms;
+
+import org.springframework.jms.support.destination.DynamicDestinationResolver;
+
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Session;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves a queue name once and reuses the destination. The SQS session looks the queue url up with a
+ * GetQueueUrl call on every resolution, and the resolved SQS destination does not depend on the session.
+ */
+public class CachingDestinationResolver extends DynamicDestinationResolver {
+
+    private final Map<String, Destination> destinations = new ConcurrentHashMap<>();
+
+    @Override
+    public Destination resolveDestinationName(final Session session, final String destinationName,
+                                              final boolean pubSubDomain) throws JMSException {
+        String key = (pubSubDomain ? "topic:" : "queue:") + destinationName;
+        Destination destination = destinations.get(key);
+        if (destination == null) {
+            destination = super.resolveDestinationName(session, destinationName, pubSubDomain);
+            destinations.put(key, destination);
+        }
+        return destination;
+    }
+}
@@ -3,15 +3,18 @@ package gov.uk.courtdata.jms;
 
 import com.amazon.sqs.javamessaging.ProviderConfiguration;
 import com.amazon.sqs.javamessaging.SQSConnectionFactory;
+import com.amazonaws.ClientConfiguration;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.sqs.AmazonSQS;
 import com.amazonaws.services.sqs.AmazonSQSClientBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.jms.annotation.EnableJms;
 import org.springframework.jms.config.DefaultJmsListenerContainerFactory;
 import org.springframework.jms.core.JmsTemplate;
@@ -33,8 +36,12 @@ public class JmsConfig {
 
     private final SqsProperties sqsProperties;
 
+    private final MeterRegistry meterRegistry;
+
+    private final PayloadCodec payloadCodec;
+
     /**
-     * Use the default container configured.
+     * Use the default container configured. Queue listeners bind to their own factory below.
      *
      * @return
      *
@@ -48,12 +55,54 @@ public class JmsConfig {
         factory.setConnectionFactory(sqsConnectionFactory());
         factory.setDestinationResolver(new DynamicDestinationResolver());
         factory.setConcurrency("1-3");
+        factory.setMessageConverter(new PayloadMessageConverter(payloadCodec, meterRegistry));
         factory.setSessionAcknowledgeMode(Session.CLIENT_ACKNOWLEDGE);
         factory.setErrorHandler(jmsErrorHandler);
         return factory;
 
     }
 
+    @Bean
+    public DefaultJmsListenerContainerFactory linkListenerContainerFactory() {
+        return listenerContainerFactory(linkSqsConnectionFactory(), sqsProperties.getListener().getLink());
+    }
+
+    @Bean
+    public DefaultJmsListenerContainerFactory unlinkListenerContainerFactory() {
+        return listenerContainerFactory(unlinkSqsConnectionFactory(), sqsProperties.getListener().getUnlink());
+    }
+
+    @Bean
+    public DefaultJmsListenerContainerFactory laaStatusListenerContainerFactory() {
+        return listenerContainerFactory(laaStatusSqsConnectionFactory(), sqsProperties.getListener().getLaaStatus());
+    }
+
+    @Bean
+    public DefaultJmsListenerContainerFactory hearingResultedListenerContainerFactory() {
+        return listenerContainerFactory(hearingResultedSqsConnectionFactory(),
+                sqsProperties.getListener().getHearingResulted());
+    }
+
+    @Bean
+    public SQSConnectionFactory linkSqsConnectionFactory() {
+        return listenerConnectionFactory(sqsProperties.getListener().getLink());
+    }
+
+    @Bean
+    public SQSConnectionFactory unlinkSqsConnectionFactory() {
+        return listenerConnectionFactory(sqsProperties.getListener().getUnlink());
+    }
+
+    @Bean
+    public SQSConnectionFactory laaStatusSqsConnectionFactory() {
+        return listenerConnectionFactory(sqsProperties.getListener().getLaaStatus());
+    }
+
+    @Bean
+    public SQSConnectionFactory hearingResultedSqsConnectionFactory() {
+        return listenerConnectionFactory(sqsProperties.getListener().getHearingResulted());
+    }
+
     /**
      * Create the jms template with provider config for the SQS client.
      *
@@ -61,12 +110,39 @@ public class JmsConfig {
      */
     @Bean
     public JmsTemplate defaultJmsTemplate() {
-        return new
-                JmsTemplate(sqsConnectionFactory());
+        JmsTemplate jmsTemplate = new
+                JmsTemplate(publishingConnectionFactory());
+        jmsTemplate.setDestinationResolver(new CachingDestinationResolver());
+        return jmsTemplate;
     }
 
+    /**
+     * Publishing reuses one connection and a bounded cache of sessions and producers.
+     *
+     * @return
+     */
+    @Bean
+    public PublishingConnectionFactory publishingConnectionFactory() {
+        PublishingConnectionFactory connectionFactory =
+                new PublishingConnectionFactory(sqsConnectionFactory(), meterRegistry);
+        connectionFactory.setSessionCacheSize(sqsProperties.getPublisher().getSessionCacheSize());
+        connectionFactory.setCacheProducers(true);
+        connectionFactory.setReconnectOnException(true);
+        return connectionFactory;
+    }
+
+    /**
+     * SQS client used to send batched messages directly, bypassing JMS.
+     *
+     * @return
+     */
+    @Bean
+    public AmazonSQS publishingSqsClient() {
+        return awsSqsClient();
+    }
 
     @Bean
+    @Primary
     public SQSConnectionFactory sqsConnectionFactory() {
 
         return new SQSConnectionFactory(new ProviderConfiguration(),
@@ -74,15 +150,49 @@ public class JmsConfig {
     }
 
 
+    /**
+     * A listener container for one queue, sized from its {@link SqsProperties.QueueListener} settings.
+     *
+     * @param connectionFactory
+     * @param queueListener
+     * @return
+     */
+    private DefaultJmsListenerContainerFactory listenerContainerFactory(final SQSConnectionFactory connectionFactory,
+                                                                        final SqsProperties.QueueListener queueListener) {
+
+        DefaultJmsListenerContainerFactory factory =
+                new DefaultJmsListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setDestinationResolver(new DynamicDestinationResolver());
+        factory.setConcurrency(queueListener.getConcurrency());
+        factory.setReceiveTimeout(queueListener.getReceiveTimeout());
+        factory.setMessageConverter(new PayloadMessageConverter(payloadCodec, meterRegistry));
+        factory.setSessionAcknowledgeMode(Session.CLIENT_ACKNOWLEDGE);
+        factory.setErrorHandler(jmsErrorHandler);
+        return factory;
+    }
+
+    private SQSConnectionFactory listenerConnectionFactory(final SqsProperties.QueueListener queueListener) {
+
+        return new SQSConnectionFactory(new ProviderConfiguration()
+                .withNumberOfMessagesToPrefetch(queueListener.getNumberOfMessagesToPrefetch()),
+                awsSqsClient(new ClientConfiguration().withMaxConnections(queueListener.getMaxConnections())));
+    }
+
     /**
      * @return
      */
     private AmazonSQS awsSqsClient() {
+        return awsSqsClient(new ClientConfiguration());
+    }
+
+    private AmazonSQS awsSqsClient(final ClientConfiguration clientConfiguration) {
         return
                 AmazonSQSClientBuilder.standard()
                         .withCredentials(new AWSStaticCredentialsProvider(
                                 new BasicAWSCredentials(sqsProperties.getAccesskey(), sqsProperties.getSecretkey())))
                         .withRegion(Regions.fromName(sqsProperties.getRegion()))
+                        .withClientConfiguration(clientConfiguration)
                         .build();
     }
 
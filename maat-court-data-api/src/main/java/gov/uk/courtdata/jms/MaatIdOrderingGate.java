@@ -0,0 +1,135 @@
+package gov.uk.courtdata.jms;
+
+import gov.uk.courtdata.exception.MAATCourtDataException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * <code>MaatIdOrderingGate</code> runs the messages for one MAAT id one at a time, in arrival order, while
+ * messages for different MAAT ids run in parallel. This lets the listener concurrency be raised without a link,
+ * a status update and a hearing result for the same MAAT id interleaving their writes.
+ * <p>
+ * Each MAAT id in use has its own fair lock, dropped once no message holds or waits for it. A message that would
+ * exceed the per MAAT id queue bound is rejected, so it is not acknowledged and SQS redelivers it later.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MaatIdOrderingGate {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Integer, KeyLock> locks = new ConcurrentHashMap<>();
+
+    @Value("${maat.ordering.enabled:false}")
+    private boolean enabled;
+
+    @Value("${maat.ordering.max-queued-per-key:10}")
+    private int maxQueuedPerKey;
+
+    private Counter contendedCounter;
+    private Counter rejectedCounter;
+    private Timer waitTimer;
+
+    @PostConstruct
+    public void init() {
+        contendedCounter = Counter.builder("maat.ordering.contended")
+                .description("Messages that waited for another message with the same MAAT id")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("maat.ordering.rejected")
+                .description("Messages rejected because too many were queued for the same MAAT id")
+                .register(meterRegistry);
+        waitTimer = Timer.builder("maat.ordering.wait")
+                .description("Time a contended message waited for its MAAT id")
+                .register(meterRegistry);
+        Gauge.builder("maat.ordering.active.keys", locks, Map::size)
+                .description("MAAT ids with a message in progress")
+                .register(meterRegistry);
+    }
+
+    public void run(final Integer maatId, final Runnable work) {
+        call(maatId, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the work once no earlier message for the MAAT id is in progress.
+     *
+     * @param maatId
+     * @param work
+     * @return
+     */
+    public <T> T call(final Integer maatId, final Supplier<T> work) {
+        if (!enabled || maatId == null) {
+            return work.get();
+        }
+        final Entry entry = new Entry();
+        locks.compute(maatId, (key, current) -> entry.join(current, maxQueuedPerKey));
+        if (!entry.accepted) {
+            rejectedCounter.increment();
+            throw new MAATCourtDataException("Too many messages queued for MAAT id " + maatId);
+        }
+        final ReentrantLock lock = entry.keyLock.lock;
+        try {
+            acquire(maatId, lock);
+            try {
+                return work.get();
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            locks.computeIfPresent(maatId, (key, current) -> --current.users == 0 ? null : current);
+        }
+    }
+
+    private void acquire(final Integer maatId, final ReentrantLock lock) {
+        try {
+            // timed tryLock honours the fairness of the lock, the untimed one barges
+            if (lock.tryLock(0, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+            contendedCounter.increment();
+            log.debug("Waiting for an earlier message for MAAT id {}", maatId);
+            final long start = System.nanoTime();
+            lock.lockInterruptibly();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MAATCourtDataException("Interrupted waiting for MAAT id " + maatId);
+        }
+    }
+
+    private static final class KeyLock {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private int users;
+    }
+
+    private static final class Entry {
+        private KeyLock keyLock;
+        private boolean accepted;
+
+        private KeyLock join(final KeyLock current, final int maxQueued) {
+            keyLock = current == null ? new KeyLock() : current;
+            if (keyLock.users <= maxQueued) {
+                keyLock.users++;
+                accepted = true;
+            }
+            return keyLock;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package gov.uk.courtdata.jms;
+
+import gov.uk.courtdata.exception.MAATCourtDataException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * <code>PayloadCodec</code> compresses large outgoing queue messages as gzip or deflate plus base64, and decodes
+ * incoming messages according to their <code>contentEncoding</code> message attribute. Messages without the
+ * attribute are plain JSON and pass through unchanged.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PayloadCodec {
+
+    public static final String CONTENT_ENCODING = "contentEncoding";
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+
+    private final SqsProperties sqsProperties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Compresses the payload when compression is enabled and the payload is at least the configured size.
+     *
+     * @param payload
+     * @return the message body, with the content encoding to send as an attribute or null when not compressed.
+     */
+    public EncodedPayload encode(final String payload) {
+        final SqsProperties.Compression compression = sqsProperties.getCompression();
+        final byte[] raw = payload.getBytes(StandardCharsets.UTF_8);
+        if (!compression.isEnabled() || raw.length < compression.getMinSizeBytes()) {
+            record("outbound", "identity", raw.length, raw.length);
+            return new EncodedPayload(payload, null);
+        }
+        final String encoding = compression.getEncoding();
+        final String body = Base64.getEncoder().encodeToString(compress(raw, encoding));
+        record("outbound", encoding, raw.length, body.length());
+        return new EncodedPayload(body, encoding);
+    }
+
+    /**
+     * @param body
+     * @param contentEncoding the <code>contentEncoding</code> attribute of the message, may be null.
+     * @return the JSON payload.
+     */
+    public String decode(final String body, final String contentEncoding) {
+        if (contentEncoding == null || contentEncoding.isEmpty() || body == null) {
+            return body;
+        }
+        final byte[] raw;
+        try {
+            raw = decompress(Base64.getDecoder().decode(body), contentEncoding);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new MAATCourtDataException("Unable to decode " + contentEncoding + " message - " + e.getMessage());
+        }
+        record("inbound", contentEncoding, raw.length, body.length());
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    private byte[] compress(final byte[] raw, final String encoding) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(raw.length / 4 + 64);
+        try (OutputStream out = GZIP.equals(encoding) ? new GZIPOutputStream(bytes) : deflating(bytes, encoding)) {
+            out.write(raw);
+        } catch (IOException e) {
+            throw new MAATCourtDataException("Unable to compress message - " + e.getMessage());
+        }
+        return bytes.toByteArray();
+    }
+
+    private OutputStream deflating(final OutputStream bytes, final String encoding) {
+        if (!DEFLATE.equals(encoding)) {
+            throw new MAATCourtDataException("Unsupported message content encoding " + encoding);
+        }
+        return new DeflaterOutputStream(bytes);
+    }
+
+    private byte[] decompress(final byte[] compressed, final String encoding) throws IOException {
+        final InputStream source = new ByteArrayInputStream(compressed);
+        final InputStream in;
+        if (GZIP.equals(encoding)) {
+            in = new GZIPInputStream(source);
+        } else if (DEFLATE.equals(encoding)) {
+            in = new InflaterInputStream(source);
+        } else {
+            throw new MAATCourtDataException("Unsupported message content encoding " + encoding);
+        }
+        try (InputStream stream = in) {
+            return stream.readAllBytes();
+        }
+    }
+
+    private void record(final String direction, final String encoding, final int payloadBytes, final int bodyBytes) {
+        DistributionSummary.builder("sqs.payload.size")
+                .description("Uncompressed size of queue message payloads")
+                .baseUnit("bytes")
+                .tags("direction", direction, "encoding", encoding)
+                .register(meterRegistry)
+                .record(payloadBytes);
+        if (payloadBytes > 0 && bodyBytes != payloadBytes) {
+            DistributionSummary.builder("sqs.payload.compression.ratio")
+                    .description("Encoded message body size as a share of the payload size")
+                    .tags("direction", direction, "encoding", encoding)
+                    .register(meterRegistry)
+                    .record((double) bodyBytes / payloadBytes);
+            log.debug("{} {} message of {} bytes sent as {} bytes", direction, encoding, payloadBytes, bodyBytes);
+        }
+    }
+
+    @Value
+    public static class EncodedPayload {
+        String body;
+        String contentEncoding;
+    }
+}
@@ -0,0 +1,53 @@
+package gov.uk.courtdata.jms;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jms.support.converter.SimpleMessageConverter;
+
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.Queue;
+import javax.jms.TextMessage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes compressed text messages before they reach the listeners, so every listener and the logging aspect
+ * receive the plain JSON payload whatever the sender chose.
+ * <p>
+ * The age of each message, from the time it was sent to the time a listener picks it up, is recorded as
+ * <code>sqs.message.age</code>.
+ */
+public class PayloadMessageConverter extends SimpleMessageConverter {
+
+    private final PayloadCodec payloadCodec;
+    private final MeterRegistry meterRegistry;
+
+    public PayloadMessageConverter(final PayloadCodec payloadCodec, final MeterRegistry meterRegistry) {
+        this.payloadCodec = payloadCodec;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object fromMessage(final Message message) throws JMSException {
+        recordAge(message);
+        if (message instanceof TextMessage && message.propertyExists(PayloadCodec.CONTENT_ENCODING)) {
+            return payloadCodec.decode(((TextMessage) message).getText(),
+                    message.getStringProperty(PayloadCodec.CONTENT_ENCODING));
+        }
+        return super.fromMessage(message);
+    }
+
+    private void recordAge(final Message message) throws JMSException {
+        final long sent = message.getJMSTimestamp();
+        if (sent <= 0) {
+            return;
+        }
+        final Destination destination = message.getJMSDestination();
+        Timer.builder("sqs.message.age")
+                .description("Time from a message being sent to a listener receiving it")
+                .tag("queue", destination instanceof Queue ? ((Queue) destination).getQueueName() : "unknown")
+                .register(meterRegistry)
+                .record(Math.max(System.currentTimeMillis() - sent, 0), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,99 @@
+package gov.uk.courtdata.jms;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jms.connection.CachingConnectionFactory;
+
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.JMSException;
+import javax.jms.Session;
+import java.time.Instant;
+
+/**
+ * <code>PublishingConnectionFactory</code> keeps one SQS connection open for publishing and reuses its sessions
+ * and producers, so a send no longer opens and closes a connection, session and producer each time.
+ * Counts of requested and created sessions show how often the cache is reused.
+ */
+@Slf4j
+public class PublishingConnectionFactory extends CachingConnectionFactory {
+
+    private final Counter connectionsCreated;
+    private final Counter sessionsRequested;
+    private final Counter sessionsCreated;
+    private final Counter connectionFailures;
+
+    private volatile Instant lastFailure;
+    private volatile boolean connected;
+
+    public PublishingConnectionFactory(final ConnectionFactory targetConnectionFactory, final MeterRegistry meterRegistry) {
+        super(targetConnectionFactory);
+        connectionsCreated = counter(meterRegistry, "jms.publish.connections.created");
+        sessionsRequested = counter(meterRegistry, "jms.publish.sessions.requested");
+        sessionsCreated = counter(meterRegistry, "jms.publish.sessions.created");
+        connectionFailures = counter(meterRegistry, "jms.publish.connections.failed");
+    }
+
+    @Override
+    protected Connection doCreateConnection() throws JMSException {
+        try {
+            Connection connection = super.doCreateConnection();
+            connectionsCreated.increment();
+            connected = true;
+            return connection;
+        } catch (JMSException | RuntimeException e) {
+            recordFailure();
+            throw e;
+        }
+    }
+
+    @Override
+    protected Session getSession(final Connection con, final Integer mode) throws JMSException {
+        sessionsRequested.increment();
+        return super.getSession(con, mode);
+    }
+
+    @Override
+    protected Session createSession(final Connection con, final Integer mode) throws JMSException {
+        sessionsCreated.increment();
+        return super.createSession(con, mode);
+    }
+
+    @Override
+    public void onException(final JMSException ex) {
+        log.warn("Publishing connection failed, it will be recreated on the next send", ex);
+        recordFailure();
+        super.onException(ex);
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public Instant getLastFailure() {
+        return lastFailure;
+    }
+
+    public double getSessionsRequested() {
+        return sessionsRequested.count();
+    }
+
+    public double getSessionsCreated() {
+        return sessionsCreated.count();
+    }
+
+    public double getConnectionsCreated() {
+        return connectionsCreated.count();
+    }
+
+    private void recordFailure() {
+        connected = false;
+        lastFailure = Instant.now();
+        connectionFailures.increment();
+    }
+
+    private static Counter counter(final MeterRegistry meterRegistry, final String name) {
+        return Counter.builder(name).register(meterRegistry);
+    }
+}
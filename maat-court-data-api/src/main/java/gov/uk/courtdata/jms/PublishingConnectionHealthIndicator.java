@@ -0,0 +1,32 @@
+package gov.uk.courtdata.jms;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the state of the cached publishing connection. Before the first send there is no connection, which
+ * is reported as up; a connection failure is reported as down until a connection is created again.
+ */
+@Component
+@RequiredArgsConstructor
+public class PublishingConnectionHealthIndicator implements HealthIndicator {
+
+    private final PublishingConnectionFactory publishingConnectionFactory;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = publishingConnectionFactory.getLastFailure() != null
+                && !publishingConnectionFactory.isConnected() ? Health.down() : Health.up();
+        builder.withDetail("connected", publishingConnectionFactory.isConnected())
+                .withDetail("sessionCacheSize", publishingConnectionFactory.getSessionCacheSize())
+                .withDetail("connectionsCreated", publishingConnectionFactory.getConnectionsCreated())
+                .withDetail("sessionsRequested", publishingConnectionFactory.getSessionsRequested())
+                .withDetail("sessionsCreated", publishingConnectionFactory.getSessionsCreated());
+        if (publishingConnectionFactory.getLastFailure() != null) {
+            builder.withDetail("lastFailure", publishingConnectionFactory.getLastFailure().toString());
+        }
+        return builder.build();
+    }
+}
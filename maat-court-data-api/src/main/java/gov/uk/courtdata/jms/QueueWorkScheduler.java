@@ -0,0 +1,217 @@
+package gov.uk.courtdata.jms;
+
+import gov.uk.courtdata.enums.InboundQueue;
+import gov.uk.courtdata.exception.MAATCourtDataException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * <code>QueueWorkScheduler</code> shares a fixed number of work permits between the inbound queues, so that a
+ * burst on one queue cannot take all the database capacity.
+ * <p>
+ * Each queue has permits reserved for it ({@code minimumShare}) which other queues never take. The remaining
+ * permits go to the waiting queue that has had the least service relative to its {@code weight}. The work runs on
+ * the calling listener thread once admitted, so message acknowledgement and thread bound contexts are unchanged.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueueWorkScheduler {
+
+    private final SqsProperties sqsProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition admitted = lock.newCondition();
+    private final Map<InboundQueue, Lane> lanes = new EnumMap<>(InboundQueue.class);
+
+    private boolean enabled;
+    private int permits;
+    private int inUse;
+    private double virtualTime;
+
+    @PostConstruct
+    public void init() {
+        enabled = sqsProperties.getScheduler().isEnabled();
+        permits = sqsProperties.getScheduler().getPermits();
+        int reserved = 0;
+        for (InboundQueue queue : InboundQueue.values()) {
+            SqsProperties.QueueListener queueListener = sqsProperties.getListener().get(queue);
+            Lane lane = new Lane(Math.max(queueListener.getWeight(), 1), Math.max(queueListener.getMinimumShare(), 0),
+                    Timer.builder("queue.scheduler.wait")
+                            .description("Time a message waited for a work permit")
+                            .tag("queue", queue.value())
+                            .register(meterRegistry));
+            lanes.put(queue, lane);
+            reserved += lane.minimumShare;
+            Gauge.builder("queue.scheduler.running", lane, l -> l.running)
+                    .tag("queue", queue.value())
+                    .register(meterRegistry);
+            Gauge.builder("queue.scheduler.waiting", lane, l -> l.waiting.size())
+                    .tag("queue", queue.value())
+                    .register(meterRegistry);
+        }
+        if (enabled && reserved > permits) {
+            throw new IllegalStateException("Reserved queue shares " + reserved + " exceed scheduler permits " + permits);
+        }
+        log.info("Queue work scheduler enabled: {}, permits: {}, reserved: {}", enabled, permits, reserved);
+    }
+
+    public void run(final InboundQueue queue, final Runnable work) {
+        call(queue, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the work once the queue has been given a permit.
+     *
+     * @param queue
+     * @param work
+     * @return
+     */
+    public <T> T call(final InboundQueue queue, final Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        acquire(queue);
+        try {
+            return work.get();
+        } finally {
+            release(queue);
+        }
+    }
+
+    private void acquire(final InboundQueue queue) {
+        final long start = System.nanoTime();
+        final Lane lane = lanes.get(queue);
+        final Ticket ticket = new Ticket();
+        lock.lock();
+        try {
+            if (lane.running == 0 && lane.waiting.isEmpty()) {
+                // an idle queue does not bank service it did not ask for
+                lane.virtualTime = Math.max(lane.virtualTime, virtualTime);
+            }
+            lane.waiting.addLast(ticket);
+            dispatch();
+            while (!ticket.admitted) {
+                try {
+                    admitted.await();
+                } catch (InterruptedException e) {
+                    if (ticket.admitted) {
+                        releaseLocked(lane);
+                    } else {
+                        lane.waiting.remove(ticket);
+                    }
+                    Thread.currentThread().interrupt();
+                    throw new MAATCourtDataException("Interrupted waiting for a work permit on queue " + queue.value());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        lane.waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void release(final InboundQueue queue) {
+        lock.lock();
+        try {
+            releaseLocked(lanes.get(queue));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseLocked(final Lane lane) {
+        lane.running--;
+        inUse--;
+        dispatch();
+    }
+
+    /**
+     * Hands free permits to waiting queues: first to queues below their reserved share, then to the queue
+     * with the lowest virtual time, as long as that does not use permits reserved for another queue.
+     */
+    private void dispatch() {
+        boolean signal = false;
+        while (inUse < permits) {
+            Lane next = select(true);
+            if (next == null) {
+                next = select(false);
+            }
+            if (next == null) {
+                break;
+            }
+            Ticket ticket = next.waiting.pollFirst();
+            ticket.admitted = true;
+            next.running++;
+            inUse++;
+            virtualTime = Math.max(virtualTime, next.virtualTime);
+            next.virtualTime += 1.0 / next.weight;
+            signal = true;
+        }
+        if (signal) {
+            admitted.signalAll();
+        }
+    }
+
+    private Lane select(final boolean reservedOnly) {
+        Lane selected = null;
+        for (Lane lane : lanes.values()) {
+            if (lane.waiting.isEmpty()) {
+                continue;
+            }
+            boolean eligible = reservedOnly
+                    ? lane.running < lane.minimumShare
+                    : permits - inUse > unmetReservations(lane);
+            if (eligible && (selected == null || lane.virtualTime < selected.virtualTime)) {
+                selected = lane;
+            }
+        }
+        return selected;
+    }
+
+    private int unmetReservations(final Lane excluded) {
+        int unmet = 0;
+        for (Lane lane : lanes.values()) {
+            if (lane != excluded) {
+                unmet += Math.max(0, lane.minimumShare - lane.running);
+            }
+        }
+        return unmet;
+    }
+
+    private static final class Lane {
+        private final int weight;
+        private final int minimumShare;
+        private final Timer waitTimer;
+        private final Deque<Ticket> waiting = new ArrayDeque<>();
+        private int running;
+        private double virtualTime;
+
+        private Lane(final int weight, final int minimumShare, final Timer waitTimer) {
+            this.weight = weight;
+            this.minimumShare = minimumShare;
+            this.waitTimer = waitTimer;
+        }
+    }
+
+    private static final class Ticket {
+        private boolean admitted;
+    }
+}
@@ -0,0 +1,285 @@
+package gov.uk.courtdata.jms;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.MessageAttributeValue;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
+import gov.uk.courtdata.exception.MAATCourtDataException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <code>SqsBatchPublisher</code> coalesces the messages published within a short linger window and sends them
+ * with one <code>SendMessageBatch</code> call per queue, up to the SQS limit of ten entries per call.
+ * <p>
+ * Callers wait for their own entry, up to the send timeout, so a publish still fails when its message could not
+ * be sent. Entries that fail for a reason other than the request itself are retried in a later batch, except on a
+ * FIFO queue where a retry would reorder the group; the pending entries are flushed on shutdown. Messages are sent as plain text bodies, which the SQS JMS listeners read as text messages.
+ */
+@Slf4j
+@Component
+public class SqsBatchPublisher {
+
+    private final AmazonSQS publishingSqsClient;
+    private final SqsProperties.Batch batch;
+    private final MeterRegistry meterRegistry;
+
+    private final BlockingQueue<Entry> pending = new LinkedBlockingQueue<>();
+    private final Map<String, String> queueUrls = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private Thread flusher;
+    private DistributionSummary batchSize;
+    private Counter retriedCounter;
+    private Counter failedCounter;
+
+    public SqsBatchPublisher(@Qualifier("publishingSqsClient") final AmazonSQS publishingSqsClient,
+                             final SqsProperties sqsProperties,
+                             final MeterRegistry meterRegistry) {
+        this.publishingSqsClient = publishingSqsClient;
+        this.batch = sqsProperties.getPublisher().getBatch();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        batchSize = DistributionSummary.builder("sqs.batch.size")
+                .description("Entries sent per SendMessageBatch call")
+                .register(meterRegistry);
+        retriedCounter = Counter.builder("sqs.batch.entries.retried")
+                .description("Batch entries that failed and were queued again")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("sqs.batch.entries.failed")
+                .description("Batch entries that could not be sent")
+                .register(meterRegistry);
+        if (batch.isEnabled()) {
+            running = true;
+            flusher = new Thread(this::flushLoop, "sqs-batch-publisher");
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        final List<Entry> unsent = new ArrayList<>();
+        pending.drainTo(unsent);
+        if (!unsent.isEmpty()) {
+            log.warn("{} batched messages were not sent before shutdown", unsent.size());
+            unsent.forEach(entry -> entry.result.completeExceptionally(
+                    new MAATCourtDataException("Batch publisher shut down before the message was sent")));
+        }
+    }
+
+    public boolean isEnabled() {
+        return batch.isEnabled();
+    }
+
+    /**
+     * Queues the message for the next batch to the queue and waits until it has been sent.
+     *
+     * @param queueName
+     * @param body
+     * @param groupId         message group id for a FIFO queue, otherwise null.
+     * @param deduplicationId deduplication id for a FIFO queue, otherwise null.
+     * @param contentEncoding encoding of a compressed body, otherwise null.
+     * @return the SQS message id.
+     */
+    public String send(final String queueName, final String body, final String groupId, final String deduplicationId,
+                       final String contentEncoding) {
+        if (!isRunning()) {
+            throw new MAATCourtDataException("Batch publisher is not running, unable to publish to " + queueName);
+        }
+        final Entry entry = new Entry(queueName, new SendMessageBatchRequestEntry()
+                .withMessageBody(body)
+                .withMessageGroupId(groupId)
+                .withMessageDeduplicationId(deduplicationId));
+        if (contentEncoding != null) {
+            entry.requestEntry.addMessageAttributesEntry(PayloadCodec.CONTENT_ENCODING, new MessageAttributeValue()
+                    .withDataType("String")
+                    .withStringValue(contentEncoding));
+        }
+        pending.add(entry);
+        if (!isRunning() && pending.remove(entry)) {
+            throw new MAATCourtDataException("Batch publisher is not running, unable to publish to " + queueName);
+        }
+        return awaitSent(entry);
+    }
+
+    /**
+     * Waits for the entry to be sent. An entry the caller gives up on is cancelled, so that neither a batch nor a
+     * retry sends it after the caller was told it failed; when the entry completed first its result stands.
+     */
+    private String awaitSent(final Entry entry) {
+        try {
+            return entry.result.get(batch.getSendTimeoutMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandon(entry);
+            throw new MAATCourtDataException("Interrupted publishing to " + entry.queueName);
+        } catch (ExecutionException e) {
+            throw new MAATCourtDataException("Unable to publish to " + entry.queueName + " - " + e.getCause().getMessage());
+        } catch (TimeoutException e) {
+            if (!abandon(entry)) {
+                return awaitSent(entry);
+            }
+            throw new MAATCourtDataException("Timed out publishing to " + entry.queueName);
+        }
+    }
+
+    private boolean abandon(final Entry entry) {
+        pending.remove(entry);
+        return entry.result.cancel(false);
+    }
+
+    /**
+     * The flusher can only stop on shutdown or an error, in both cases nothing would send a newly queued entry.
+     */
+    private boolean isRunning() {
+        return running && flusher != null && flusher.isAlive();
+    }
+
+    private void flushLoop() {
+        while (running || !pending.isEmpty()) {
+            try {
+                final List<Entry> drained = collect();
+                if (!drained.isEmpty()) {
+                    flush(drained);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected failure in the SQS batch publisher", e);
+            }
+        }
+    }
+
+    /**
+     * Waits for a first entry, then gives others up to the linger time to join it.
+     */
+    List<Entry> collect() throws InterruptedException {
+        final List<Entry> drained = new ArrayList<>();
+        final Entry first = pending.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return drained;
+        }
+        drained.add(first);
+        final int maxEntries = Math.min(Math.max(batch.getMaxSize(), 1), 10);
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batch.getLingerMillis());
+        while (drained.size() < maxEntries) {
+            final long remaining = deadline - System.nanoTime();
+            final Entry next = remaining > 0 ? pending.poll(remaining, TimeUnit.NANOSECONDS) : pending.poll();
+            if (next == null) {
+                break;
+            }
+            drained.add(next);
+        }
+        return drained;
+    }
+
+    void flush(final List<Entry> drained) {
+        final Map<String, List<Entry>> byQueue = new LinkedHashMap<>();
+        for (Entry entry : drained) {
+            byQueue.computeIfAbsent(entry.queueName, key -> new ArrayList<>()).add(entry);
+        }
+        byQueue.forEach(this::sendBatch);
+    }
+
+    private void sendBatch(final String queueName, final List<Entry> entries) {
+        final Map<String, Entry> byId = new LinkedHashMap<>();
+        final List<SendMessageBatchRequestEntry> requestEntries = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.result.isDone()) {
+                continue;
+            }
+            final String id = String.valueOf(byId.size());
+            byId.put(id, entry);
+            requestEntries.add(entry.requestEntry.withId(id));
+        }
+        if (requestEntries.isEmpty()) {
+            return;
+        }
+        batchSize.record(requestEntries.size());
+        final SendMessageBatchResult result;
+        try {
+            result = publishingSqsClient.sendMessageBatch(new SendMessageBatchRequest()
+                    .withQueueUrl(queueUrl(queueName))
+                    .withEntries(requestEntries));
+        } catch (AmazonClientException e) {
+            log.warn("SendMessageBatch of {} entries to {} failed", requestEntries.size(), queueName, e);
+            byId.values().forEach(entry -> retryOrFail(entry, e.getMessage(), true));
+            return;
+        }
+        for (SendMessageBatchResultEntry successful : result.getSuccessful()) {
+            byId.remove(successful.getId()).result.complete(successful.getMessageId());
+        }
+        for (BatchResultErrorEntry failed : result.getFailed()) {
+            log.warn("Batch entry to {} failed - code: {}, message: {}", queueName, failed.getCode(), failed.getMessage());
+            retryOrFail(byId.remove(failed.getId()), failed.getCode() + " " + failed.getMessage(),
+                    !Boolean.TRUE.equals(failed.getSenderFault()));
+        }
+    }
+
+    /**
+     * Queues a retryable entry for a later batch. An entry for a FIFO queue fails instead: later messages of its
+     * group may already be queued, and sending it after them would break the order of the group. An entry the
+     * caller has given up on is dropped.
+     */
+    private void retryOrFail(final Entry entry, final String reason, final boolean retryable) {
+        if (entry.result.isDone()) {
+            return;
+        }
+        if (retryable && entry.requestEntry.getMessageGroupId() == null
+                && ++entry.attempts < Math.max(batch.getMaxAttempts(), 1)) {
+            retriedCounter.increment();
+            pending.add(entry);
+        } else {
+            failedCounter.increment();
+            entry.result.completeExceptionally(new MAATCourtDataException(reason));
+        }
+    }
+
+    private String queueUrl(final String queueName) {
+        return queueUrls.computeIfAbsent(queueName, name -> publishingSqsClient.getQueueUrl(name).getQueueUrl());
+    }
+
+    static final class Entry {
+        private final String queueName;
+        private final SendMessageBatchRequestEntry requestEntry;
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private int attempts;
+
+        Entry(final String queueName, final SendMessageBatchRequestEntry requestEntry) {
+            this.queueName = queueName;
+            this.requestEntry = requestEntry;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package gov.uk.courtdata.jms;
 
 
+import gov.uk.courtdata.enums.InboundQueue;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
@@ -18,4 +19,130 @@ public class SqsProperties {
     private String accesskey;
     private String secretkey;
 
+    private Listeners listener = new Listeners();
+
+    private Scheduler scheduler = new Scheduler();
+
+    private Publisher publisher = new Publisher();
+
+    private Compression compression = new Compression();
+
+    /**
+     * Compression of large published messages, see {@link PayloadCodec}. Compressed messages are always decoded
+     * on receive.
+     */
+    @Data
+    public static class Compression {
+
+        private boolean enabled;
+        /**
+         * gzip or deflate.
+         */
+        private String encoding = PayloadCodec.GZIP;
+        /**
+         * Payloads smaller than this are sent as plain JSON.
+         */
+        private int minSizeBytes = 16384;
+    }
+
+    @Data
+    public static class Publisher {
+
+        /**
+         * Sessions, each with its cached producers, kept open for publishing.
+         */
+        private int sessionCacheSize = 5;
+
+        private Batch batch = new Batch();
+    }
+
+    /**
+     * Micro-batching of published messages, see {@link SqsBatchPublisher}.
+     */
+    @Data
+    public static class Batch {
+
+        private boolean enabled;
+        /**
+         * Entries per SendMessageBatch call, at most 10.
+         */
+        private int maxSize = 10;
+        /**
+         * How long the first message of a batch waits for others to join it, in milliseconds.
+         */
+        private long lingerMillis = 20L;
+        /**
+         * Attempts per entry before its publish fails. Entries for a FIFO queue are never retried.
+         */
+        private int maxAttempts = 3;
+        /**
+         * How long a publish waits for its entry to be sent, in milliseconds.
+         */
+        private long sendTimeoutMillis = 30000L;
+    }
+
+    /**
+     * Work permits shared by the queue listeners, see {@link QueueWorkScheduler}.
+     */
+    @Data
+    public static class Scheduler {
+
+        private boolean enabled;
+        private int permits = 8;
+    }
+
+    /**
+     * Consumer settings for each queue, so that each listener container can be sized for its own volume.
+     */
+    @Data
+    public static class Listeners {
+
+        private QueueListener link = new QueueListener();
+        private QueueListener unlink = new QueueListener();
+        private QueueListener laaStatus = new QueueListener();
+        private QueueListener hearingResulted = new QueueListener();
+
+        public QueueListener get(final InboundQueue queue) {
+            switch (queue) {
+                case LINK:
+                    return link;
+                case UNLINK:
+                    return unlink;
+                case LAA_STATUS:
+                    return laaStatus;
+                default:
+                    return hearingResulted;
+            }
+        }
+    }
+
+    @Data
+    public static class QueueListener {
+
+        /**
+         * Listener container concurrency range, e.g. "1-3".
+         */
+        private String concurrency = "1-3";
+        /**
+         * Messages fetched ahead per consumer by the SQS JMS provider.
+         */
+        private int numberOfMessagesToPrefetch = 1;
+        /**
+         * How long a consumer waits on a receive before the container polls again, in milliseconds.
+         */
+        private long receiveTimeout = 1000L;
+        /**
+         * Maximum HTTP connections of the SQS client used by the queue.
+         */
+        private int maxConnections = 50;
+        /**
+         * Relative share of the scheduler permits that are not reserved.
+         */
+        private int weight = 1;
+        /**
+         * Scheduler permits reserved for the queue.
+         */
+        private int minimumShare;
+    }
+
 }
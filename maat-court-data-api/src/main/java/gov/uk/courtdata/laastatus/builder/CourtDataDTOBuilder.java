@@ -1,20 +1,19 @@
 package gov.uk.courtdata.laastatus.builder;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.dto.CourtDataDTO;
 import gov.uk.courtdata.entity.DefendantMAATDataEntity;
-import gov.uk.courtdata.entity.OffenceEntity;
 import gov.uk.courtdata.entity.SolicitorMAATDataEntity;
 import gov.uk.courtdata.entity.WqLinkRegisterEntity;
 import gov.uk.courtdata.model.CaseDetails;
-import gov.uk.courtdata.repository.DefendantMAATDataRepository;
 import gov.uk.courtdata.repository.OffenceRepository;
-import gov.uk.courtdata.repository.SolicitorMAATDataRepository;
-import gov.uk.courtdata.repository.WqLinkRegisterRepository;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Component
@@ -23,9 +22,7 @@ import java.util.Optional;
 public class CourtDataDTOBuilder {
 
 
-    private final WqLinkRegisterRepository wqLinkRegisterRepository;
-    private final SolicitorMAATDataRepository solicitorMAATDataRepository;
-    private final DefendantMAATDataRepository defendantMAATDataRepository;
+    private final MessageEntityContext messageEntityContext;
     private final OffenceRepository offenceRepository;
 
     /**
@@ -35,25 +32,19 @@ public class CourtDataDTOBuilder {
     public CourtDataDTO build(CaseDetails caseDetails) {
 
         final Integer maatId = caseDetails.getMaatId();
-        List<WqLinkRegisterEntity> wqLinkRegisterEntityList = wqLinkRegisterRepository.findBymaatId(maatId);
-        final Optional<SolicitorMAATDataEntity> optSolicitorMAATDataEntity = solicitorMAATDataRepository.findBymaatId(maatId);
+        List<WqLinkRegisterEntity> wqLinkRegisterEntityList = messageEntityContext.findLinkRegisters(maatId);
+        final Optional<SolicitorMAATDataEntity> optSolicitorMAATDataEntity = messageEntityContext.findSolicitorMAATData(maatId);
         SolicitorMAATDataEntity solicitorMAATDataEntity = optSolicitorMAATDataEntity.orElse(null);
 
-        final Optional<DefendantMAATDataEntity> optDefendantMAATDataEntity = defendantMAATDataRepository.findBymaatId(maatId);
+        final Optional<DefendantMAATDataEntity> optDefendantMAATDataEntity = messageEntityContext.findDefendantMAATData(maatId);
         DefendantMAATDataEntity defendantMAATDataEntity = optDefendantMAATDataEntity.orElse(null);
         WqLinkRegisterEntity wqLinkRegisterEntity = wqLinkRegisterEntityList.iterator().next();
 
         log.info("Build status message to post.");
 
-        caseDetails.getDefendant().getOffences().forEach(offence -> {
-
-            Optional<OffenceEntity> offenceEntity
-                    = offenceRepository.findByMaxTxId(wqLinkRegisterEntity.getCaseId(), offence.getAsnSeq());
-
-            offence.setOffenceId(offenceEntity.map(OffenceEntity::getOffenceId).orElse(null));
-
-
-        });
+        final Map<String, String> latestOffenceIds = findLatestOffenceIds(wqLinkRegisterEntity.getCaseId());
+        caseDetails.getDefendant().getOffences()
+                .forEach(offence -> offence.setOffenceId(latestOffenceIds.get(offence.getAsnSeq())));
 
         return CourtDataDTO.builder()
                 .caseDetails(caseDetails)
@@ -65,5 +56,19 @@ public class CourtDataDTOBuilder {
                 .build();
     }
 
+    /**
+     * Offence id of the latest offence for each asn seq of the case, resolved with one query.
+     *
+     * @param caseId
+     * @return
+     */
+    private Map<String, String> findLatestOffenceIds(final Integer caseId) {
+
+        final Map<String, String> latestOffenceIds = new HashMap<>();
+        offenceRepository.findLatestOffencesByCaseId(caseId)
+                .forEach(latestOffence -> latestOffenceIds.put(latestOffence.getAsnSeq(), latestOffence.getOffenceId()));
+        return latestOffenceIds;
+    }
+
 
 }
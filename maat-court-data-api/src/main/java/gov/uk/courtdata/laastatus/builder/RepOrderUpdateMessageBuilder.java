@@ -1,11 +1,10 @@
 package gov.uk.courtdata.laastatus.builder;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.entity.RepOrderCPDataEntity;
 import gov.uk.courtdata.entity.SolicitorMAATDataEntity;
 import gov.uk.courtdata.model.CaseDetails;
 import gov.uk.courtdata.model.laastatus.*;
-import gov.uk.courtdata.repository.RepOrderCPDataRepository;
-import gov.uk.courtdata.repository.SolicitorMAATDataRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -21,9 +20,7 @@ import java.util.stream.Collectors;
 public class RepOrderUpdateMessageBuilder {
 
 
-    private final RepOrderCPDataRepository repOrderCPDataRepository;
-
-    private final SolicitorMAATDataRepository solicitorMAATDataRepository;
+    private final MessageEntityContext messageEntityContext;
 
 
     /**
@@ -61,7 +58,7 @@ public class RepOrderUpdateMessageBuilder {
      */
     private DefenceOrganisation mapDefenceOrganisation(CaseDetails caseDetails) {
 
-        final Optional<SolicitorMAATDataEntity> optSolicitor = solicitorMAATDataRepository.findBymaatId(caseDetails.getMaatId());
+        final Optional<SolicitorMAATDataEntity> optSolicitor = messageEntityContext.findSolicitorMAATData(caseDetails.getMaatId());
 
         SolicitorMAATDataEntity solicitorDetails = optSolicitor.orElse(SolicitorMAATDataEntity.builder().build());
 
@@ -130,7 +127,7 @@ public class RepOrderUpdateMessageBuilder {
      */
     private String findDefendantId(final Integer maatId) {
         Optional<RepOrderCPDataEntity> repOrderCPData
-                = repOrderCPDataRepository.findByrepOrderId(maatId);
+                = messageEntityContext.findRepOrderCPData(maatId);
 
         return repOrderCPData.map(RepOrderCPDataEntity::getDefendantId).orElse(null);
     }
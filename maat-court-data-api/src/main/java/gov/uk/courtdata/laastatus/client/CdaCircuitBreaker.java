@@ -0,0 +1,227 @@
+package gov.uk.courtdata.laastatus.client;
+
+import gov.uk.courtdata.exception.MAATCourtDataException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <code>CdaCircuitBreaker</code> guards the calls to CDA with a circuit breaker and a bulkhead.
+ * <p>
+ * The circuit opens when the failure rate over the most recent calls reaches the threshold; calls then fail
+ * at once without reaching CDA. After the open duration a few probe calls are let through, and the circuit
+ * closes when they all succeed or opens again on the first failure. Only server errors, timeouts and connection
+ * failures count as failures, a request CDA rejects with a 4xx says nothing about the health of CDA.
+ * <p>
+ * The bulkhead caps the calls in flight, so a slow CDA holds a bounded number of threads and connections.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CdaCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final CdaClientProperties cdaClientProperties;
+    private final MeterRegistry meterRegistry;
+
+    private State state = State.CLOSED;
+    private boolean[] window;
+    private int windowPosition;
+    private int windowCalls;
+    private int windowFailures;
+    private long openUntil;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    private Semaphore bulkhead;
+
+    @PostConstruct
+    public void init() {
+        window = new boolean[Math.max(circuitBreaker().getWindowSize(), 1)];
+        bulkhead = new Semaphore(Math.max(cdaClientProperties.getBulkhead().getMaxConcurrentCalls(), 1));
+        Gauge.builder("cda.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("CDA circuit state: 0 closed, 1 open, 2 half open")
+                .register(meterRegistry);
+        Gauge.builder("cda.bulkhead.in.flight", this, CdaCircuitBreaker::getCallsInFlight)
+                .description("CDA calls in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the call when the circuit and the bulkhead allow it, and records its outcome. The permission is taken
+     * when the returned mono is subscribed.
+     *
+     * @param call
+     * @return the call, or an error when it was rejected.
+     */
+    public <T> Mono<T> protect(final Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            if (circuitBreaker().isEnabled() && !tryAcquirePermission()) {
+                rejected("circuit_open");
+                return Mono.error(new MAATCourtDataException("CDA circuit is open, call not attempted"));
+            }
+            if (cdaClientProperties.getBulkhead().isEnabled() && !tryEnterBulkhead()) {
+                releasePermission();
+                rejected("bulkhead_full");
+                return Mono.error(new MAATCourtDataException("CDA bulkhead is full, call not attempted"));
+            }
+            return Mono.defer(call)
+                    .doOnSuccess(result -> onSuccess())
+                    .doOnError(this::onError)
+                    .doOnCancel(this::releasePermission)
+                    .doFinally(signal -> leaveBulkhead());
+        });
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getFailureRate() {
+        return windowCalls == 0 ? 0 : windowFailures * 100 / windowCalls;
+    }
+
+    public int getCallsInFlight() {
+        return cdaClientProperties.getBulkhead().isEnabled()
+                ? Math.max(cdaClientProperties.getBulkhead().getMaxConcurrentCalls(), 1) - bulkhead.availablePermits()
+                : 0;
+    }
+
+    private synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() < openUntil) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesStarted >= Math.max(circuitBreaker().getHalfOpenCalls(), 1)) {
+                return false;
+            }
+            probesStarted++;
+        }
+        return true;
+    }
+
+    /**
+     * Gives back a probe slot that was taken for a call that never ran.
+     */
+    private synchronized void releasePermission() {
+        if (circuitBreaker().isEnabled() && state == State.HALF_OPEN && probesStarted > probesSucceeded) {
+            probesStarted--;
+        }
+    }
+
+    private void onSuccess() {
+        if (circuitBreaker().isEnabled()) {
+            record(false);
+        }
+    }
+
+    private void onError(final Throwable error) {
+        if (!circuitBreaker().isEnabled()) {
+            return;
+        }
+        record(!isClientError(error));
+    }
+
+    /**
+     * Uses the raw status code, as statuses outside {@link org.springframework.http.HttpStatus}, such as a
+     * proxy's 520, make <code>getStatusCode()</code> throw and the outcome would never be recorded.
+     */
+    private static boolean isClientError(final Throwable error) {
+        if (!(error instanceof WebClientResponseException)) {
+            return false;
+        }
+        int status = ((WebClientResponseException) error).getRawStatusCode();
+        return status >= 400 && status < 500;
+    }
+
+    private synchronized void record(final boolean failure) {
+        if (state == State.HALF_OPEN) {
+            if (failure) {
+                open();
+            } else if (++probesSucceeded >= Math.max(circuitBreaker().getHalfOpenCalls(), 1)) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        if (windowCalls == window.length) {
+            windowFailures -= window[windowPosition] ? 1 : 0;
+        } else {
+            windowCalls++;
+        }
+        window[windowPosition] = failure;
+        windowFailures += failure ? 1 : 0;
+        windowPosition = (windowPosition + 1) % window.length;
+        if (windowCalls >= Math.min(Math.max(circuitBreaker().getMinimumCalls(), 1), window.length)
+                && getFailureRate() >= circuitBreaker().getFailureRateThreshold()) {
+            open();
+        }
+    }
+
+    private void open() {
+        openUntil = System.currentTimeMillis() + circuitBreaker().getOpenDuration();
+        transition(State.OPEN);
+    }
+
+    private void transition(final State to) {
+        log.warn("CDA circuit {} -> {}, failure rate {}%", state, to, getFailureRate());
+        state = to;
+        probesStarted = 0;
+        probesSucceeded = 0;
+        if (to == State.CLOSED) {
+            windowCalls = 0;
+            windowFailures = 0;
+            windowPosition = 0;
+        }
+        Counter.builder("cda.circuit.transitions")
+                .tag("to", to.name())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private boolean tryEnterBulkhead() {
+        try {
+            return bulkhead.tryAcquire(cdaClientProperties.getBulkhead().getMaxWait(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void leaveBulkhead() {
+        if (cdaClientProperties.getBulkhead().isEnabled()) {
+            bulkhead.release();
+        }
+    }
+
+    private void rejected(final String reason) {
+        Counter.builder("cda.calls.rejected")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private CdaClientProperties.CircuitBreaker circuitBreaker() {
+        return cdaClientProperties.getCircuitBreaker();
+    }
+}
@@ -0,0 +1,26 @@
+package gov.uk.courtdata.laastatus.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the CDA circuit as down while it is open, and the bulkhead usage.
+ */
+@Component
+@RequiredArgsConstructor
+public class CdaCircuitBreakerHealthIndicator implements HealthIndicator {
+
+    private final CdaCircuitBreaker cdaCircuitBreaker;
+
+    @Override
+    public Health health() {
+        CdaCircuitBreaker.State state = cdaCircuitBreaker.getState();
+        Health.Builder builder = state == CdaCircuitBreaker.State.OPEN ? Health.down() : Health.up();
+        return builder.withDetail("state", state)
+                .withDetail("failureRate", cdaCircuitBreaker.getFailureRate())
+                .withDetail("callsInFlight", cdaCircuitBreaker.getCallsInFlight())
+                .build();
+    }
+}
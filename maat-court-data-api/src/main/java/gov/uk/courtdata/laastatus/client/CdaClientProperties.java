@@ -0,0 +1,82 @@
+package gov.uk.courtdata.laastatus.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Connection settings of the Court Data Adapter web client.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cda.client")
+public class CdaClientProperties {
+
+    /**
+     * Connections kept in the pool, shared by all requests to CDA.
+     */
+    private int maxConnections = 20;
+    /**
+     * How long a request waits for a pooled connection, in milliseconds.
+     */
+    private long acquireTimeout = 5000L;
+    /**
+     * TCP connect timeout, in milliseconds.
+     */
+    private int connectTimeout = 5000;
+    /**
+     * Time allowed for CDA to respond once the request is sent, in milliseconds.
+     */
+    private long responseTimeout = 30000L;
+    /**
+     * Share of requests logged with their headers at INFO. All requests are when DEBUG is enabled.
+     */
+    private double headerLogSampleRate;
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private Bulkhead bulkhead = new Bulkhead();
+
+    /**
+     * See {@link CdaCircuitBreaker}.
+     */
+    @Data
+    public static class CircuitBreaker {
+
+        private boolean enabled;
+        /**
+         * Percentage of failed calls in the window that opens the circuit.
+         */
+        private int failureRateThreshold = 50;
+        /**
+         * Calls recorded before the failure rate is evaluated.
+         */
+        private int minimumCalls = 10;
+        /**
+         * Most recent calls the failure rate is calculated over.
+         */
+        private int windowSize = 20;
+        /**
+         * How long the circuit stays open before probe calls are let through, in milliseconds.
+         */
+        private long openDuration = 30000L;
+        /**
+         * Probe calls allowed while half open; the circuit closes once they all succeed.
+         */
+        private int halfOpenCalls = 3;
+    }
+
+    /**
+     * Limit on CDA calls in flight at once.
+     */
+    @Data
+    public static class Bulkhead {
+
+        private boolean enabled;
+        private int maxConcurrentCalls = 10;
+        /**
+         * How long a call waits for a free slot before it is rejected, in milliseconds.
+         */
+        private long maxWait;
+    }
+}
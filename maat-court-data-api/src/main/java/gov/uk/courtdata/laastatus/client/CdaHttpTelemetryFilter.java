@@ -0,0 +1,106 @@
+package gov.uk.courtdata.laastatus.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>CdaHttpTelemetryFilter</code> times every CDA request by method, URI template, status and outcome. A
+ * request cancelled before CDA responded, e.g. by the response timeout, is recorded with status CANCELLED.
+ * <p>
+ * Requests and responses are only logged in detail when DEBUG is enabled for this class, or for a sampled share
+ * of requests, and the values of credential headers are never logged.
+ */
+@Slf4j
+public class CdaHttpTelemetryFilter implements ExchangeFilterFunction {
+
+    static final String REDACTED = "[REDACTED]";
+
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+
+    private static final Set<String> SENSITIVE_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        SENSITIVE_HEADERS.addAll(Arrays.asList(HttpHeaders.AUTHORIZATION, HttpHeaders.PROXY_AUTHORIZATION,
+                HttpHeaders.COOKIE, HttpHeaders.SET_COOKIE));
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final double headerLogSampleRate;
+
+    public CdaHttpTelemetryFilter(final MeterRegistry meterRegistry, final double headerLogSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.headerLogSampleRate = headerLogSampleRate;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(final ClientRequest request, final ExchangeFunction next) {
+        return Mono.defer(() -> {
+            final boolean detailed = log.isDebugEnabled()
+                    || (headerLogSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < headerLogSampleRate);
+            if (detailed) {
+                logDetail("Request: {} {} headers {}", request.method(), request.url(), redact(request.headers()));
+            }
+            final long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnSuccess(response -> {
+                        if (response == null) {
+                            return;
+                        }
+                        record(request, start, String.valueOf(response.rawStatusCode()),
+                                response.rawStatusCode() >= 400 ? "ERROR" : "SUCCESS");
+                        if (detailed) {
+                            logDetail("Response: {} {} status {}", request.method(), request.url(),
+                                    response.rawStatusCode());
+                        }
+                    })
+                    .doOnError(error -> record(request, start, "IO_ERROR", error.getClass().getSimpleName()))
+                    .doOnCancel(() -> record(request, start, "CANCELLED", "CANCELLED"));
+        });
+    }
+
+    /**
+     * @param headers
+     * @return the headers with the values of credential headers replaced.
+     */
+    static HttpHeaders redact(final HttpHeaders headers) {
+        final HttpHeaders redacted = new HttpHeaders();
+        headers.forEach((name, values) -> redacted.put(name,
+                SENSITIVE_HEADERS.contains(name) ? Collections.singletonList(REDACTED) : values));
+        return redacted;
+    }
+
+    private void record(final ClientRequest request, final long start, final String status, final String outcome) {
+        Timer.builder("cda.http.client.requests")
+                .description("CDA requests made by the web client")
+                .tags("method", request.method().name(),
+                        "uri", request.attribute(URI_TEMPLATE_ATTRIBUTE).map(Object::toString)
+                                .orElse(request.url().getPath()),
+                        "status", status,
+                        "outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void logDetail(final String format, final Object... arguments) {
+        if (log.isDebugEnabled()) {
+            log.debug(format, arguments);
+        } else {
+            log.info(format, arguments);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package gov.uk.courtdata.laastatus.client;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fetches the CDA token once the application is ready and keeps it refreshed ahead of expiry, so no CDA call
+ * waits for a token round trip.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CdaTokenRefresher {
+
+    private static final String PRINCIPAL = "cda-token-refresher";
+
+    private final OAuth2AuthorizedClientManager authorizedClientManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prefetch() {
+        log.info("Pre-fetching the CDA token");
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${cda.oauth.token.refresh-check-interval:10000}",
+            initialDelayString = "${cda.oauth.token.refresh-check-interval:10000}")
+    public void refresh() {
+        if (authorizedClientManager instanceof RefreshingOAuth2AuthorizedClientManager) {
+            ((RefreshingOAuth2AuthorizedClientManager) authorizedClientManager).refresh(OAuth2AuthorizeRequest
+                    .withClientRegistrationId(CourtDataAdapterOAuth2ClientConfig.REGISTERED_ID)
+                    .principal(PRINCIPAL)
+                    .build());
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package gov.uk.courtdata.laastatus.client;
 
-import com.google.gson.GsonBuilder;
+import com.google.gson.Gson;
 import gov.uk.courtdata.model.laastatus.LaaStatusUpdate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +10,10 @@ import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -19,7 +23,11 @@ public class CourtDataAdapterClient {
     @Qualifier("cdaOAuth2WebClient")
     private final WebClient webClient;
 
-    private final GsonBuilder gsonBuilder;
+    private final Gson gson;
+
+    private final CdaClientProperties cdaClientProperties;
+
+    private final CdaCircuitBreaker cdaCircuitBreaker;
 
     @Value("${cda.laastatus.url}")
     private String laaUpdateUrl;
@@ -29,22 +37,52 @@ public class CourtDataAdapterClient {
      */
     public void postLaaStatus(LaaStatusUpdate laaStatusUpdate) {
 
+        post(laaStatusUpdate).block();
+    }
+
+    /**
+     * Posts the update without waiting for CDA, so the caller can carry on with other work. The response body
+     * is discarded, only the status is logged.
+     *
+     * @param laaStatusUpdate
+     * @return completes when CDA has accepted the update, or exceptionally when the post failed.
+     */
+    public CompletableFuture<Void> postLaaStatusAsync(LaaStatusUpdate laaStatusUpdate) {
+
+        return post(laaStatusUpdate).toFuture();
+    }
+
+    /**
+     * Posts an update that was serialised earlier, such as one held in the CDA outbox.
+     *
+     * @param laaStatusUpdateJson
+     * @return completes when CDA has accepted the update, or exceptionally when the post failed.
+     */
+    public CompletableFuture<Void> postLaaStatusJsonAsync(String laaStatusUpdateJson) {
+
+        return postJson(laaStatusUpdateJson).toFuture();
+    }
+
+    private Mono<Void> post(LaaStatusUpdate laaStatusUpdate) {
+
+        return postJson(gson.toJson(laaStatusUpdate));
+    }
+
+    private Mono<Void> postJson(String laaStatusUpdateJson) {
 
-        final String laaStatusUpdateJson = gsonBuilder.create().toJson(laaStatusUpdate);
         log.debug("  JSON request : {} ", laaStatusUpdateJson);
 
         log.info("Post Laa status to CDA.");
-        String clientResponse =
-                webClient
-                        .post()
-                        .uri(laaUpdateUrl)
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .body(BodyInserters.fromValue(laaStatusUpdateJson))
-                        .retrieve()
-                        .bodyToMono(String.class)
-                        .block();
-
-        log.info("LAA status update posted {}", clientResponse);
+        return cdaCircuitBreaker.protect(() -> webClient
+                .post()
+                .uri(laaUpdateUrl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(laaStatusUpdateJson))
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(Duration.ofMillis(cdaClientProperties.getResponseTimeout()))
+                .doOnNext(response -> log.info("LAA status update posted {}", response.getStatusCode()))
+                .then());
     }
 
 }
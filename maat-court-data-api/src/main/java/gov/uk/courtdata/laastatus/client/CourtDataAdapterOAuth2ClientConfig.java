@@ -1,18 +1,24 @@
 package gov.uk.courtdata.laastatus.client;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.client.*;
 import org.springframework.security.oauth2.client.registration.ClientRegistration;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
 import org.springframework.security.oauth2.client.web.reactive.function.client.ServletOAuth2AuthorizedClientExchangeFilterFunction;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
-import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 /**
  * <code>CourtDataAdapterOAuth2ClientConfig</code>
@@ -21,7 +27,7 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class CourtDataAdapterOAuth2ClientConfig {
 
-    private static final String REGISTERED_ID = "cda";
+    public static final String REGISTERED_ID = "cda";
 
     /**
      * @param tokenUri
@@ -47,12 +53,21 @@ public class CourtDataAdapterOAuth2ClientConfig {
 
 
     /**
+     * The token is kept by {@link RefreshingOAuth2AuthorizedClientManager} and refreshed in the background. The
+     * delegate stores no token of its own, so each call it gets fetches a new one.
+     *
      * @param clientRegistrationRepository
+     * @param meterRegistry
+     * @param expiryMargin
+     * @param refreshAhead
      * @return
      */
     @Bean
     public OAuth2AuthorizedClientManager authorizedClientManager(
-            ClientRegistrationRepository clientRegistrationRepository) {
+            ClientRegistrationRepository clientRegistrationRepository,
+            MeterRegistry meterRegistry,
+            @Value("${cda.oauth.token.expiry-margin:30000}") long expiryMargin,
+            @Value("${cda.oauth.token.refresh-ahead:300000}") long refreshAhead) {
 
         // grant_type = client_credentials flow.
         OAuth2AuthorizedClientProvider authorizedClientProvider =
@@ -63,51 +78,74 @@ public class CourtDataAdapterOAuth2ClientConfig {
         // Machine to machine service.
         AuthorizedClientServiceOAuth2AuthorizedClientManager authorizedClientManager =
                 new AuthorizedClientServiceOAuth2AuthorizedClientManager(
-                        clientRegistrationRepository, new InMemoryOAuth2AuthorizedClientService(clientRegistrationRepository));
+                        clientRegistrationRepository, new NoStoreOAuth2AuthorizedClientService());
         authorizedClientManager.setAuthorizedClientProvider(authorizedClientProvider);
 
-        return authorizedClientManager;
+        return new RefreshingOAuth2AuthorizedClientManager(authorizedClientManager,
+                Duration.ofMillis(expiryMargin), Duration.ofMillis(refreshAhead), meterRegistry);
     }
 
 
     /**
+     * The telemetry filter runs after the OAuth2 filter, so it times the CDA request itself and sees, redacted,
+     * the headers that are actually sent.
+     *
      * @param authorizedClientManager
+     * @param cdaClientProperties
+     * @param meterRegistry
      * @return
      */
     @Bean(name = "cdaOAuth2WebClient")
-    public WebClient webClient(OAuth2AuthorizedClientManager authorizedClientManager) {
+    public WebClient webClient(OAuth2AuthorizedClientManager authorizedClientManager,
+                               CdaClientProperties cdaClientProperties,
+                               MeterRegistry meterRegistry) {
         ServletOAuth2AuthorizedClientExchangeFilterFunction oauth2Client =
                 new ServletOAuth2AuthorizedClientExchangeFilterFunction(authorizedClientManager);
         oauth2Client.setDefaultClientRegistrationId(REGISTERED_ID);
         return WebClient.builder()
-                .filter(loggingRequest())
-                .filter(loggingResponse())
+                .clientConnector(new ReactorClientHttpConnector(httpClient(cdaClientProperties)))
                 .filter(oauth2Client)
+                .filter(new CdaHttpTelemetryFilter(meterRegistry, cdaClientProperties.getHeaderLogSampleRate()))
                 .build();
     }
 
     /**
+     * A dedicated, bounded connection pool for CDA with keep-alive, so requests reuse connections instead of
+     * competing for the shared default pool. The response is bounded by the timeout in
+     * {@link CourtDataAdapterClient}; a read timeout handler on the connection would also close pooled connections
+     * left idle for longer than the response timeout.
      *
+     * @param cdaClientProperties
      * @return
      */
-    private ExchangeFilterFunction loggingRequest() {
-        return (clientRequest, next) -> {
-            log.info("Request: {} {}", clientRequest.method(), clientRequest.url());
-            clientRequest.headers()
-                    .forEach((name, values) -> values.forEach(value -> log.info("{}={}", name, value)));
-            return next.exchange(clientRequest);
-        };
+    private HttpClient httpClient(CdaClientProperties cdaClientProperties) {
+        ConnectionProvider connectionProvider = ConnectionProvider.fixed("cda",
+                cdaClientProperties.getMaxConnections(), cdaClientProperties.getAcquireTimeout());
+        return HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .tcpConfiguration(tcpClient -> tcpClient
+                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, cdaClientProperties.getConnectTimeout())
+                        .option(ChannelOption.SO_KEEPALIVE, true));
     }
 
+
     /**
-     *
-     * @return
+     * Keeps no authorized clients, the token is held by {@link RefreshingOAuth2AuthorizedClientManager}.
      */
-    private ExchangeFilterFunction loggingResponse() {
-        return ExchangeFilterFunction.ofResponseProcessor(clientResponse -> {
-            log.info("Response status: {}",clientResponse.statusCode());
-            return Mono.just(clientResponse);
-        });
-    }
+    static class NoStoreOAuth2AuthorizedClientService implements OAuth2AuthorizedClientService {
+
+        @Override
+        public <T extends OAuth2AuthorizedClient> T loadAuthorizedClient(final String clientRegistrationId,
+                                                                         final String principalName) {
+            return null;
+        }
 
+        @Override
+        public void saveAuthorizedClient(final OAuth2AuthorizedClient authorizedClient, final Authentication principal) {
+        }
+
+        @Override
+        public void removeAuthorizedClient(final String clientRegistrationId, final String principalName) {
+        }
+    }
 }
@@ -0,0 +1,157 @@
+package gov.uk.courtdata.laastatus.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>RefreshingOAuth2AuthorizedClientManager</code> keeps the client credentials token for each registration
+ * and hands it to every request until it is about to expire.
+ * <p>
+ * A token is fetched by one thread at a time per registration; threads that need the token meanwhile wait for
+ * that fetch instead of starting their own. {@link CdaTokenRefresher} calls {@link #refresh} in the background,
+ * so the token is normally replaced well before a request would find it expired. The delegate must fetch a new
+ * token every time it is called, as this class decides when the current token is due for replacement.
+ */
+@Slf4j
+public class RefreshingOAuth2AuthorizedClientManager implements OAuth2AuthorizedClientManager {
+
+    private final OAuth2AuthorizedClientManager delegate;
+    private final Duration expiryMargin;
+    private final Duration refreshAhead;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, OAuth2AuthorizedClient> clients = new ConcurrentHashMap<>();
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate      fetches the tokens.
+     * @param expiryMargin  a request fetches a new token itself once the current one expires within this margin.
+     * @param refreshAhead  the background refresh replaces a token once it expires within this window.
+     * @param meterRegistry
+     */
+    public RefreshingOAuth2AuthorizedClientManager(final OAuth2AuthorizedClientManager delegate,
+                                                   final Duration expiryMargin,
+                                                   final Duration refreshAhead,
+                                                   final MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.expiryMargin = expiryMargin;
+        this.refreshAhead = refreshAhead;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public OAuth2AuthorizedClient authorize(final OAuth2AuthorizeRequest authorizeRequest) {
+        final String registrationId = authorizeRequest.getClientRegistrationId();
+        final OAuth2AuthorizedClient current = clients.get(registrationId);
+        if (validFor(current, expiryMargin)) {
+            return current;
+        }
+        return fetch(authorizeRequest, expiryMargin);
+    }
+
+    /**
+     * Fetches a new token when the current one expires within the refresh window. Failures are logged, the
+     * current token stays in use while it is valid.
+     *
+     * @param authorizeRequest
+     */
+    public void refresh(final OAuth2AuthorizeRequest authorizeRequest) {
+        final String registrationId = authorizeRequest.getClientRegistrationId();
+        if (validFor(clients.get(registrationId), refreshAhead)) {
+            return;
+        }
+        try {
+            fetch(authorizeRequest, refreshAhead);
+        } catch (RuntimeException e) {
+            log.warn("Background refresh of the {} token failed - {}", registrationId, e.getMessage());
+        }
+    }
+
+    /**
+     * @param registrationId
+     * @return seconds until the current token expires, or -1 when there is none.
+     */
+    public long getSecondsToExpiry(final String registrationId) {
+        final OAuth2AuthorizedClient current = clients.get(registrationId);
+        if (current == null || current.getAccessToken().getExpiresAt() == null) {
+            return -1;
+        }
+        return Duration.between(Instant.now(), current.getAccessToken().getExpiresAt()).getSeconds();
+    }
+
+    private OAuth2AuthorizedClient fetch(final OAuth2AuthorizeRequest authorizeRequest, final Duration margin) {
+        final String registrationId = authorizeRequest.getClientRegistrationId();
+        synchronized (locks.computeIfAbsent(registrationId, this::registerLock)) {
+            final OAuth2AuthorizedClient current = clients.get(registrationId);
+            if (validFor(current, margin)) {
+                return current;
+            }
+            final long start = System.nanoTime();
+            String outcome = "failure";
+            try {
+                final OAuth2AuthorizedClient fetched = delegate.authorize(authorizeRequest);
+                if (fetched != null) {
+                    clients.put(registrationId, fetched);
+                    outcome = "success";
+                    log.info("Fetched {} token, expires at {}", registrationId, fetched.getAccessToken().getExpiresAt());
+                }
+                return fetched;
+            } catch (RuntimeException e) {
+                if (validFor(current, Duration.ZERO)) {
+                    log.warn("Unable to fetch a new {} token, using the current one - {}", registrationId, e.getMessage());
+                    return current;
+                }
+                throw e;
+            } finally {
+                Timer.builder("cda.oauth.token.fetch")
+                        .description("Time taken to fetch an OAuth2 token")
+                        .tags("registration", registrationId, "outcome", outcome)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private Object registerLock(final String registrationId) {
+        Gauge.builder("cda.oauth.token.expires.in", this, manager -> manager.getSecondsToExpiry(registrationId))
+                .description("Seconds until the current OAuth2 token expires")
+                .baseUnit("seconds")
+                .tag("registration", registrationId)
+                .register(meterRegistry);
+        return new Object();
+    }
+
+    /**
+     * A margin is capped at half the lifetime of the token, so a token that lives no longer than the refresh
+     * window is not treated as expired as soon as it arrives.
+     */
+    private static boolean validFor(final OAuth2AuthorizedClient client, final Duration margin) {
+        if (client == null) {
+            return false;
+        }
+        final Instant issuedAt = client.getAccessToken().getIssuedAt();
+        final Instant expiresAt = client.getAccessToken().getExpiresAt();
+        if (expiresAt == null) {
+            return true;
+        }
+        Duration effectiveMargin = margin;
+        if (issuedAt != null) {
+            final Duration halfLifetime = Duration.between(issuedAt, expiresAt).dividedBy(2);
+            if (halfLifetime.compareTo(effectiveMargin) < 0) {
+                effectiveMargin = halfLifetime;
+            }
+        }
+        return Instant.now().plus(effectiveMargin).isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,40 @@
+package gov.uk.courtdata.laastatus.controller;
+
+import gov.uk.courtdata.dto.CdaOutboxDTO;
+import gov.uk.courtdata.enums.CdaOutboxStatus;
+import gov.uk.courtdata.laastatus.outbox.CdaOutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Admin view of the representation orders waiting in, or failed out of, the CDA outbox.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("maatApi")
+public class CdaOutboxController {
+
+    private final CdaOutboxService cdaOutboxService;
+
+    @GetMapping("/cdaOutbox")
+    public ResponseEntity<List<CdaOutboxDTO>> getCdaOutbox(
+            @RequestParam(value = "status", defaultValue = "PENDING") CdaOutboxStatus status,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+
+        return ResponseEntity.ok(cdaOutboxService.findByStatus(status, Math.min(limit, 1000)));
+    }
+
+    @PostMapping("/cdaOutbox/{id}/retry")
+    public ResponseEntity<CdaOutboxDTO> retryCdaOutbox(@PathVariable Long id) {
+
+        log.info("CDA outbox row {} requeue requested", id);
+        return cdaOutboxService.requeue(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
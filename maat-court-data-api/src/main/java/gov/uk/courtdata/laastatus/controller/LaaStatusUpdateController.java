@@ -1,7 +1,9 @@
 package gov.uk.courtdata.laastatus.controller;
 
 import com.google.gson.Gson;
+import gov.uk.courtdata.dto.LaaStatusTrackingDTO;
 import gov.uk.courtdata.exception.MAATCourtDataException;
+import gov.uk.courtdata.laastatus.service.LaaStatusAsyncPublisher;
 import gov.uk.courtdata.laastatus.service.LaaStatusPublisher;
 import gov.uk.courtdata.laastatus.validator.LaaStatusValidationProcessor;
 import gov.uk.courtdata.model.CaseDetails;
@@ -9,8 +11,10 @@ import gov.uk.courtdata.model.MessageCollection;
 import gov.uk.courtdata.util.LaaTransactionLoggingBuilder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.UUID;
 
 @RestController
@@ -22,27 +26,42 @@ public class LaaStatusUpdateController {
     private final LaaStatusValidationProcessor laaStatusValidationProcessor;
     private final Gson gson;
     private final LaaStatusPublisher laaStatusPublisher;
+    private final LaaStatusAsyncPublisher laaStatusAsyncPublisher;
 
     @PostMapping("/laaStatus")
-    public MessageCollection updateLAAStatus(@RequestHeader("Laa-Transaction-Id") String laaTransactionId, @RequestBody String jsonPayload) {
+    public ResponseEntity<MessageCollection> updateLAAStatus(@RequestHeader("Laa-Transaction-Id") String laaTransactionId, @RequestBody String jsonPayload) {
 
         log.info("LAA Status Update Request received - laa-transaction-id:{}", laaTransactionId);
-        String laaLogging = LaaTransactionLoggingBuilder.getStr(jsonPayload);
-        MessageCollection messageCollection = null;
+        String laaLogging = laaTransactionId;
         try {
             CaseDetails caseDetails = gson.fromJson(jsonPayload, CaseDetails.class);
             caseDetails.setLaaTransactionId(UUID.fromString(laaTransactionId));
-            messageCollection = laaStatusValidationProcessor.validate(caseDetails);
+            laaLogging = LaaTransactionLoggingBuilder.get(caseDetails).toString();
+            MessageCollection messageCollection = laaStatusValidationProcessor.validate(caseDetails);
 
-            if (messageCollection.getMessages().isEmpty()) {
-                log.info("Request Validation is successfully completed: {}", laaLogging);
-                laaStatusPublisher.publish(caseDetails);
-            } else {
+            if (!messageCollection.getMessages().isEmpty()) {
                 log.info("LAA Status Update Validation Failed - Messages {} - {}", messageCollection.getMessages(), laaLogging);
+                return ResponseEntity.ok(messageCollection);
             }
+            log.info("Request Validation is successfully completed: {}", laaLogging);
+            if (laaStatusAsyncPublisher.isEnabled()) {
+                LaaStatusTrackingDTO tracking = laaStatusAsyncPublisher.submit(caseDetails);
+                return ResponseEntity.accepted()
+                        .location(URI.create("/maatApi/laaStatus/" + tracking.getTrackingId()))
+                        .body(messageCollection);
+            }
+            laaStatusPublisher.publish(caseDetails);
+            return ResponseEntity.ok(messageCollection);
         } catch (Exception exception) {
             throw new MAATCourtDataException("MAAT APT Call failed " + exception.getMessage() + "laa-logging" + laaLogging);
         }
-        return messageCollection;
+    }
+
+    @GetMapping("/laaStatus/{trackingId}")
+    public ResponseEntity<LaaStatusTrackingDTO> getLAAStatusTracking(@PathVariable UUID trackingId) {
+
+        return laaStatusAsyncPublisher.findStatus(trackingId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 }
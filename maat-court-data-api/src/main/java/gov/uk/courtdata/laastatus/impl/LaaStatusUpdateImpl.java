@@ -2,6 +2,7 @@ package gov.uk.courtdata.laastatus.impl;
 
 import gov.uk.courtdata.dto.CourtDataDTO;
 import gov.uk.courtdata.exception.MAATCourtDataException;
+import gov.uk.courtdata.laastatus.outbox.CdaOutboxService;
 import gov.uk.courtdata.laastatus.processor.UpdateDefendantInfoProcessor;
 import gov.uk.courtdata.laastatus.processor.UpdateOffenceInfoProcessor;
 import gov.uk.courtdata.laastatus.processor.UpdateWqCoreInfoProcessor;
@@ -25,6 +26,7 @@ public class LaaStatusUpdateImpl {
     private final UpdateDefendantInfoProcessor updateDefendantInfoProcessor;
     private final SessionInfoProcessor sessionInfoProcessor;
     private final UpdateOffenceInfoProcessor updateOffenceInfoProcessor;
+    private final CdaOutboxService cdaOutboxService;
 
 
     @Transactional(rollbackFor = MAATCourtDataException.class)
@@ -45,6 +47,10 @@ public class LaaStatusUpdateImpl {
         log.info("LAA Status Update - Session Details are processed");
         updateOffenceInfoProcessor.process(courtDataDTO);
         log.info("LAA Status Update - Offence Details are processed");
+        if (cdaOutboxService.isEnabled()) {
+            cdaOutboxService.enqueue(courtDataDTO);
+            log.info("LAA Status Update - Representation order is added to the CDA outbox");
+        }
         log.info("LAA Status Update -  Transaction Processing - End");
     }
 
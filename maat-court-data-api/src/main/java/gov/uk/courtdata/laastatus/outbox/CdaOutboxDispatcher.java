@@ -0,0 +1,187 @@
+package gov.uk.courtdata.laastatus.outbox;
+
+import gov.uk.courtdata.entity.CdaOutboxEntity;
+import gov.uk.courtdata.enums.CdaOutboxStatus;
+import gov.uk.courtdata.laastatus.client.CourtDataAdapterClient;
+import gov.uk.courtdata.repository.CdaOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * <code>CdaOutboxDispatcher</code> drains the CDA outbox in the background. Each poll claims a batch of due
+ * rows, one per MAAT id, and posts them to CDA with bounded concurrency. The outcomes are saved on the polling
+ * thread once every post has completed. A failed post is retried with exponential backoff until
+ * the attempts run out, when the row is marked failed for the admin endpoint to requeue.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CdaOutboxDispatcher {
+
+    private final CdaOutboxRepository cdaOutboxRepository;
+
+    private final CdaOutboxService cdaOutboxService;
+
+    private final CourtDataAdapterClient courtDataAdapterClient;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${laa-status.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${laa-status.outbox.concurrency:5}")
+    private int concurrency;
+
+    @Value("${laa-status.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${laa-status.outbox.backoff:5000}")
+    private long backoff;
+
+    @Value("${laa-status.outbox.max-backoff:600000}")
+    private long maxBackoff;
+
+    @Value("${laa-status.outbox.lease:60000}")
+    private long lease;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestPendingAge = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("cda.outbox.pending", pending, AtomicLong::get)
+                .description("Representation orders waiting to be posted to CDA")
+                .register(meterRegistry);
+        Gauge.builder("cda.outbox.lag", oldestPendingAge, AtomicLong::get)
+                .description("Age of the oldest representation order waiting to be posted to CDA")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${laa-status.outbox.poll-interval:1000}")
+    public void dispatchDue() {
+        if (!cdaOutboxService.isDispatching()) {
+            return;
+        }
+        try {
+            final List<CdaOutboxEntity> claimed = claimDue();
+            if (!claimed.isEmpty()) {
+                final List<Outcome> outcomes = Flux.fromIterable(claimed)
+                        .flatMap(this::post, Math.max(concurrency, 1))
+                        .collectList()
+                        .block();
+                outcomes.forEach(this::record);
+            }
+            refreshLag();
+        } catch (RuntimeException e) {
+            log.error("CDA outbox dispatch failed", e);
+        }
+    }
+
+    /**
+     * Claims the oldest pending row of each MAAT id, when it is due. A MAAT id has at most one row in flight,
+     * and a later row is not posted while an earlier one is still pending, so CDA receives the updates for a
+     * MAAT id in the order they were made.
+     */
+    List<CdaOutboxEntity> claimDue() {
+        final LocalDateTime now = LocalDateTime.now();
+        final LocalDateTime leaseUntil = now.plus(Duration.ofMillis(lease));
+        final List<Long> claimedIds = cdaOutboxRepository
+                .findDueIds(CdaOutboxStatus.PENDING, now, PageRequest.of(0, Math.max(batchSize, 1)))
+                .stream()
+                .filter(id -> cdaOutboxRepository.claim(id, now, leaseUntil) == 1)
+                .collect(Collectors.toList());
+        return claimedIds.isEmpty() ? Collections.emptyList() : cdaOutboxRepository.findAllById(claimedIds);
+    }
+
+    /**
+     * Posts the row and reports the outcome without touching the database, as the post completes on a
+     * reactor-netty event loop thread shared by every CDA connection.
+     */
+    private Mono<Outcome> post(final CdaOutboxEntity row) {
+        return Mono.defer(() -> Mono.fromFuture(courtDataAdapterClient.postLaaStatusJsonAsync(row.getPayload())))
+                .then(Mono.fromCallable(() -> new Outcome(row, null)))
+                .onErrorResume(e -> Mono.just(new Outcome(row, e)));
+    }
+
+    private void record(final Outcome outcome) {
+        if (outcome.error == null) {
+            sent(outcome.row);
+        } else {
+            failed(outcome.row, outcome.error);
+        }
+    }
+
+    private void sent(final CdaOutboxEntity row) {
+        row.setStatus(CdaOutboxStatus.SENT);
+        row.setSentDate(LocalDateTime.now());
+        row.setLastError(null);
+        cdaOutboxRepository.save(row);
+        outcome("sent");
+        log.info("CDA outbox row {} posted for MAAT id {}", row.getId(), row.getMaatId());
+    }
+
+    private void failed(final CdaOutboxEntity row, final Throwable error) {
+        final String message = error.getMessage() == null ? error.getClass().getName() : error.getMessage();
+        row.setLastError(message.length() > 4000 ? message.substring(0, 4000) : message);
+        if (row.getAttempts() >= maxAttempts) {
+            row.setStatus(CdaOutboxStatus.FAILED);
+            outcome("failed");
+            log.error("CDA outbox row {} for MAAT id {} failed after {} attempts", row.getId(), row.getMaatId(),
+                    row.getAttempts(), error);
+        } else {
+            row.setNextAttemptDate(LocalDateTime.now().plus(Duration.ofMillis(backoffFor(row.getAttempts()))));
+            outcome("retry");
+            log.warn("CDA outbox row {} for MAAT id {} will be retried at {} - {}", row.getId(), row.getMaatId(),
+                    row.getNextAttemptDate(), message);
+        }
+        cdaOutboxRepository.save(row);
+    }
+
+    long backoffFor(final int attempts) {
+        final int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(backoff << exponent, maxBackoff);
+    }
+
+    private void refreshLag() {
+        pending.set(cdaOutboxRepository.countByStatus(CdaOutboxStatus.PENDING));
+        oldestPendingAge.set(cdaOutboxRepository.findFirstByStatusOrderByCreatedDate(CdaOutboxStatus.PENDING)
+                .map(row -> Duration.between(row.getCreatedDate(), LocalDateTime.now()).getSeconds())
+                .orElse(0L));
+    }
+
+    private static class Outcome {
+
+        private final CdaOutboxEntity row;
+        private final Throwable error;
+
+        Outcome(final CdaOutboxEntity row, final Throwable error) {
+            this.row = row;
+            this.error = error;
+        }
+    }
+
+    private void outcome(final String outcome) {
+        Counter.builder("cda.outbox.dispatched")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
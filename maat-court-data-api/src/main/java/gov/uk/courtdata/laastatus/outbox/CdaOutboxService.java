@@ -0,0 +1,159 @@
+package gov.uk.courtdata.laastatus.outbox;
+
+import com.google.gson.Gson;
+import gov.uk.courtdata.dto.CdaOutboxDTO;
+import gov.uk.courtdata.dto.CourtDataDTO;
+import gov.uk.courtdata.entity.CdaOutboxEntity;
+import gov.uk.courtdata.enums.CdaOutboxStatus;
+import gov.uk.courtdata.enums.CdaPostFailurePolicy;
+import gov.uk.courtdata.laastatus.builder.RepOrderUpdateMessageBuilder;
+import gov.uk.courtdata.model.CaseDetails;
+import gov.uk.courtdata.model.laastatus.LaaStatusUpdate;
+import gov.uk.courtdata.repository.CdaOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * <code>CdaOutboxService</code> records the representation order for CDA in the same transaction as the MAAT
+ * update, so the update is committed whatever the state of CDA. {@link CdaOutboxDispatcher} posts the rows.
+ * <p>
+ * In concurrent mode a direct post that fails after the MAAT update has committed is also recorded here, so
+ * it survives a restart and is posted in order with any later update for the same MAAT id.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CdaOutboxService {
+
+    private final CdaOutboxRepository cdaOutboxRepository;
+
+    private final RepOrderUpdateMessageBuilder repOrderUpdateMessageBuilder;
+
+    private final Gson gson;
+
+    @Value("${laa-status.outbox.enabled:false}")
+    private boolean enabled;
+
+    @Value("${laa-status.cda.concurrent:false}")
+    private boolean concurrent;
+
+    @Value("${laa-status.cda.failure-policy:RETRY}")
+    private CdaPostFailurePolicy failurePolicy;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Adds the representation order to the outbox. Must run inside the MAAT update transaction.
+     *
+     * @param courtDataDTO
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(final CourtDataDTO courtDataDTO) {
+
+        final CaseDetails caseDetails = courtDataDTO.getCaseDetails();
+        save(caseDetails, repOrderUpdateMessageBuilder.build(caseDetails));
+    }
+
+    /**
+     * Adds an update that was built for a direct post to the outbox, so the dispatcher posts it instead. Used
+     * for a post that failed after the MAAT update was committed.
+     *
+     * @param caseDetails
+     * @param laaStatusUpdate
+     */
+    @Transactional
+    public void record(final CaseDetails caseDetails, final LaaStatusUpdate laaStatusUpdate) {
+
+        save(caseDetails, laaStatusUpdate);
+    }
+
+    /**
+     * @param maatId
+     * @return true when the MAAT id has a row still waiting to be posted or failed out of the outbox, which
+     * must reach CDA before any later update for the same MAAT id.
+     */
+    public boolean hasUnsent(final Integer maatId) {
+
+        return cdaOutboxRepository.existsByMaatIdAndStatusIn(maatId,
+                Arrays.asList(CdaOutboxStatus.PENDING, CdaOutboxStatus.FAILED));
+    }
+
+    /**
+     * @return true when rows may be added to the outbox, either for every update or for failed direct posts.
+     */
+    public boolean isDispatching() {
+        return enabled || (concurrent && failurePolicy == CdaPostFailurePolicy.RETRY);
+    }
+
+    private void save(final CaseDetails caseDetails, final LaaStatusUpdate laaStatusUpdate) {
+
+        final LocalDateTime now = LocalDateTime.now();
+        final CdaOutboxEntity saved = cdaOutboxRepository.save(CdaOutboxEntity.builder()
+                .maatId(caseDetails.getMaatId())
+                .laaTransactionId(caseDetails.getLaaTransactionId() != null
+                        ? caseDetails.getLaaTransactionId().toString() : null)
+                .payload(gson.toJson(laaStatusUpdate))
+                .status(CdaOutboxStatus.PENDING)
+                .attempts(0)
+                .createdDate(now)
+                .nextAttemptDate(now)
+                .build());
+        log.info("Representation order for MAAT id {} added to the CDA outbox as {}", caseDetails.getMaatId(), saved.getId());
+    }
+
+    public List<CdaOutboxDTO> findByStatus(final CdaOutboxStatus status, final int limit) {
+
+        return cdaOutboxRepository.findByStatusOrderById(status, PageRequest.of(0, Math.max(limit, 1)))
+                .stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Puts a row back in the queue for an immediate post, e.g. a failed row once CDA has been fixed. The later
+     * rows for the same MAAT id have waited behind the failed row, so they are posted after it.
+     *
+     * @param id
+     * @return the row, or empty when there is none with the id.
+     */
+    @Transactional
+    public Optional<CdaOutboxDTO> requeue(final Long id) {
+
+        return cdaOutboxRepository.findById(id).map(row -> {
+            if (row.getStatus() != CdaOutboxStatus.SENT) {
+                row.setStatus(CdaOutboxStatus.PENDING);
+                row.setAttempts(0);
+                row.setNextAttemptDate(LocalDateTime.now());
+                log.info("CDA outbox row {} requeued", id);
+            }
+            return toDTO(row);
+        });
+    }
+
+    private CdaOutboxDTO toDTO(final CdaOutboxEntity row) {
+        return CdaOutboxDTO.builder()
+                .id(row.getId())
+                .maatId(row.getMaatId())
+                .laaTransactionId(row.getLaaTransactionId())
+                .status(row.getStatus())
+                .attempts(row.getAttempts())
+                .createdDate(row.getCreatedDate())
+                .nextAttemptDate(row.getNextAttemptDate())
+                .sentDate(row.getSentDate())
+                .lastError(row.getLastError())
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package gov.uk.courtdata.laastatus.processor;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.dto.CourtDataDTO;
 import gov.uk.courtdata.entity.OffenceEntity;
 import gov.uk.courtdata.link.processor.OffenceInfoProcessor;
@@ -15,8 +16,8 @@ import static gov.uk.courtdata.util.DateUtil.parse;
 @Component
 public class UpdateOffenceInfoProcessor extends OffenceInfoProcessor {
 
-    public UpdateOffenceInfoProcessor(OffenceRepository offenceRepository) {
-        super(offenceRepository);
+    public UpdateOffenceInfoProcessor(OffenceRepository offenceRepository, MessageEntityContext messageEntityContext) {
+        super(offenceRepository, messageEntityContext);
     }
 
     @Override
@@ -0,0 +1,139 @@
+package gov.uk.courtdata.laastatus.service;
+
+import gov.uk.courtdata.dto.LaaStatusTrackingDTO;
+import gov.uk.courtdata.enums.PublishStatus;
+import gov.uk.courtdata.model.CaseDetails;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <code>LaaStatusAsyncPublisher</code> publishes validated laa status updates from a bounded background pool, so
+ * the request thread can answer as soon as the update is accepted. When the pool and its queue are full, or the
+ * pool has been shut down, the update is published on the calling thread instead of being refused.
+ * <p>
+ * The progress of recent updates is kept in memory by tracking id for the status endpoint. Each instance only
+ * knows the updates it accepted itself, so the status of an update accepted by another instance is not found.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LaaStatusAsyncPublisher {
+
+    private final LaaStatusPublisher laaStatusPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${laa-status.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${laa-status.async.threads:2}")
+    private int threads;
+
+    @Value("${laa-status.async.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${laa-status.async.tracked-updates:1000}")
+    private int trackedUpdates;
+
+    private ThreadPoolExecutor executor;
+    private Map<UUID, LaaStatusTrackingDTO> tracking;
+    private Counter callerRunsCounter;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "laa-status-publisher-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> {
+                    if (!pool.isShutdown()) {
+                        callerRunsCounter.increment();
+                    }
+                    runnable.run();
+                });
+        tracking = Collections.synchronizedMap(new LinkedHashMap<UUID, LaaStatusTrackingDTO>() {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<UUID, LaaStatusTrackingDTO> eldest) {
+                return size() > trackedUpdates;
+            }
+        });
+        callerRunsCounter = Counter.builder("laa.status.async.caller.runs")
+                .description("Updates published on the request thread because the publisher pool was full")
+                .register(meterRegistry);
+        Gauge.builder("laa.status.async.queued", executor, e -> e.getQueue().size())
+                .description("Accepted updates waiting to be published")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("{} accepted laa status updates were not published before shutdown", executor.getQueue().size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Accepts a validated update for publishing.
+     *
+     * @param caseDetails
+     * @return the tracking details, with the laa transaction id as the tracking id.
+     */
+    public LaaStatusTrackingDTO submit(final CaseDetails caseDetails) {
+        final UUID trackingId = caseDetails.getLaaTransactionId();
+        LaaStatusTrackingDTO accepted = LaaStatusTrackingDTO.builder()
+                .trackingId(trackingId)
+                .maatId(caseDetails.getMaatId())
+                .status(PublishStatus.ACCEPTED)
+                .acceptedAt(LocalDateTime.now())
+                .build();
+        tracking.put(trackingId, accepted);
+        executor.execute(() -> publish(caseDetails, accepted));
+        return accepted;
+    }
+
+    public Optional<LaaStatusTrackingDTO> findStatus(final UUID trackingId) {
+        return Optional.ofNullable(tracking.get(trackingId));
+    }
+
+    private void publish(final CaseDetails caseDetails, final LaaStatusTrackingDTO accepted) {
+        try {
+            laaStatusPublisher.publish(caseDetails);
+            tracking.put(accepted.getTrackingId(), accepted.toBuilder()
+                    .status(PublishStatus.ENQUEUED)
+                    .enqueuedAt(LocalDateTime.now())
+                    .build());
+        } catch (RuntimeException e) {
+            log.error("Unable to publish accepted laa status update {}", accepted.getTrackingId(), e);
+            tracking.put(accepted.getTrackingId(), accepted.toBuilder()
+                    .status(PublishStatus.FAILED)
+                    .error(e.getMessage())
+                    .build());
+        }
+    }
+}
@@ -2,6 +2,9 @@ package gov.uk.courtdata.laastatus.service;
 
 import com.google.gson.Gson;
 import gov.uk.courtdata.dto.CourtDataDTO;
+import gov.uk.courtdata.enums.InboundQueue;
+import gov.uk.courtdata.jms.MaatIdOrderingGate;
+import gov.uk.courtdata.jms.QueueWorkScheduler;
 import gov.uk.courtdata.laastatus.builder.CourtDataDTOBuilder;
 import gov.uk.courtdata.model.CaseDetails;
 import gov.uk.courtdata.model.LaaTransactionLogging;
@@ -14,26 +17,30 @@ import org.springframework.stereotype.Service;
 
 /**
  * <code>LaaStatusListener</code> a JMS listener to consume laa status message and trigger
- * status update in maat db.
+ * status update in maat db. On a FIFO queue the message is acknowledged only after processing, so SQS
+ * holds back the next update in the same MAAT id group until this one is done.
  */
 @Slf4j
 @AllArgsConstructor
 @Service
 public class LaaStatusListener {
 
-    private final LaaStatusService laaStatusService;
-
-    private final LaaStatusPostCDAService laaStatusPostCDAService;
+    private final LaaStatusUpdateService laaStatusUpdateService;
 
     private final Gson gson;
 
+    private final MaatIdOrderingGate maatIdOrderingGate;
+
+    private final QueueWorkScheduler queueWorkScheduler;
+
     private CourtDataDTOBuilder courtDataDTOBuilder;
 
     /**
      * @param message
      * @throws JmsException
      */
-    @JmsListener(destination = "${cloud-platform.aws.sqs.queue.laaStatus}")
+    @JmsListener(destination = "${cloud-platform.aws.sqs.queue.laaStatus}",
+            containerFactory = "laaStatusListenerContainerFactory")
     public void receive(@Payload final String message)  {
 
         CaseDetails laaStatusUpdate = gson.fromJson(message, CaseDetails.class);
@@ -42,12 +49,10 @@ public class LaaStatusListener {
                 .laaTransactionId(laaStatusUpdate.getLaaTransactionId()).build().toString();
 
 
-        CourtDataDTO courtDataDTO = courtDataDTOBuilder.build(laaStatusUpdate);
-        log.info("POST Rep Order update to CDA {}", logging);
-        laaStatusPostCDAService.process(courtDataDTO);
-        log.info("Update LAA status {}", logging);
-        laaStatusService.execute(courtDataDTO);
-        log.info("After laa update {}", logging);
+        maatIdOrderingGate.run(laaStatusUpdate.getMaatId(), () -> queueWorkScheduler.run(InboundQueue.LAA_STATUS, () -> {
+            CourtDataDTO courtDataDTO = courtDataDTOBuilder.build(laaStatusUpdate);
+            laaStatusUpdateService.update(courtDataDTO, logging);
+        }));
     }
 
 
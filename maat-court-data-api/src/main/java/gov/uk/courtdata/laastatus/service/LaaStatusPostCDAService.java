@@ -8,6 +8,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -27,5 +29,30 @@ public class LaaStatusPostCDAService {
 
     }
 
+    /**
+     * Builds the update for CDA from the MAAT database, so it can be posted later without reading it again.
+     *
+     * @param courtDataDTO
+     * @return
+     */
+    public LaaStatusUpdate build(final CourtDataDTO courtDataDTO) {
+
+        LaaStatusUpdate repOrderData =
+                repOrderUpdateMessageBuilder.build(courtDataDTO.getCaseDetails());
+
+        log.debug(repOrderData.toString());
+        return repOrderData;
+    }
+
+    /**
+     * Starts the post to CDA and returns without waiting for the response.
+     *
+     * @param repOrderData
+     * @return completes once CDA has accepted the update.
+     */
+    public CompletableFuture<Void> postAsync(final LaaStatusUpdate repOrderData) {
+
+        return courtDataAdapterClient.postLaaStatusAsync(repOrderData);
+    }
 
 }
@@ -1,6 +1,9 @@
 package gov.uk.courtdata.laastatus.service;
 
+import com.amazon.sqs.javamessaging.SQSMessagingClientConstants;
 import com.google.gson.Gson;
+import gov.uk.courtdata.jms.PayloadCodec;
+import gov.uk.courtdata.jms.SqsBatchPublisher;
 import gov.uk.courtdata.model.CaseDetails;
 import gov.uk.courtdata.util.LaaTransactionLoggingBuilder;
 import lombok.RequiredArgsConstructor;
@@ -14,8 +17,12 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class LaaStatusPublisher {
 
+    private static final String FIFO_SUFFIX = ".fifo";
+
     private final JmsTemplate defaultJmsTemplate;
     private final Gson gson;
+    private final SqsBatchPublisher sqsBatchPublisher;
+    private final PayloadCodec payloadCodec;
 
     @Value("${cloud-platform.aws.sqs.queue.laaStatus}")
     private String sqsQueueName;
@@ -23,8 +30,39 @@ public class LaaStatusPublisher {
     public void publish(CaseDetails caseDetails) {
         String logging = LaaTransactionLoggingBuilder.get(caseDetails).toString();
         log.info("Publishing to SQS Queue {} with logging meta-data {} " + sqsQueueName,logging);
-        String laaStatusUpdateJSON = gson.toJson(caseDetails);
-        defaultJmsTemplate.convertAndSend(sqsQueueName, laaStatusUpdateJSON);
+        PayloadCodec.EncodedPayload payload = payloadCodec.encode(gson.toJson(caseDetails));
+        String groupId = isFifoQueue() ? String.valueOf(caseDetails.getMaatId()) : null;
+        String deduplicationId = isFifoQueue() && caseDetails.getLaaTransactionId() != null
+                ? caseDetails.getLaaTransactionId().toString() : null;
+        if (sqsBatchPublisher.isEnabled()) {
+            sqsBatchPublisher.send(sqsQueueName, payload.getBody(), groupId, deduplicationId, payload.getContentEncoding());
+        } else if (isFifoQueue() || payload.getContentEncoding() != null) {
+            defaultJmsTemplate.convertAndSend(sqsQueueName, payload.getBody(), message -> {
+                if (groupId != null) {
+                    message.setStringProperty(SQSMessagingClientConstants.JMSX_GROUP_ID, groupId);
+                }
+                if (deduplicationId != null) {
+                    message.setStringProperty(SQSMessagingClientConstants.JMS_SQS_DEDUPLICATION_ID, deduplicationId);
+                }
+                if (payload.getContentEncoding() != null) {
+                    message.setStringProperty(PayloadCodec.CONTENT_ENCODING, payload.getContentEncoding());
+                }
+                return message;
+            });
+        } else {
+            defaultJmsTemplate.convertAndSend(sqsQueueName, payload.getBody());
+        }
         log.info("A JSON Message has been published to the Queue {} with logging meta-data {}",sqsQueueName,logging);
     }
+
+    /**
+     * On a FIFO queue updates are grouped by MAAT id, so SQS hands the updates for one MAAT id to one consumer
+     * at a time, in order, across all instances. The transaction id is the deduplication id, so a retried
+     * publish of the same request is delivered once.
+     *
+     * @return
+     */
+    private boolean isFifoQueue() {
+        return sqsQueueName != null && sqsQueueName.endsWith(FIFO_SUFFIX);
+    }
 }
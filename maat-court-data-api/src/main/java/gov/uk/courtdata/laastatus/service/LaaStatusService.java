@@ -1,8 +1,8 @@
 package gov.uk.courtdata.laastatus.service;
 
 import gov.uk.courtdata.dto.CourtDataDTO;
+import gov.uk.courtdata.identifier.IdentifierAllocator;
 import gov.uk.courtdata.laastatus.impl.LaaStatusUpdateImpl;
-import gov.uk.courtdata.repository.IdentifierRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -13,7 +13,7 @@ public class LaaStatusService {
 
     private final LaaStatusUpdateImpl laaStatusUpdateImpl;
 
-    private final IdentifierRepository identifierRepository;
+    private final IdentifierAllocator identifierAllocator;
 
 
     public void execute(CourtDataDTO courtDataDTO) {
@@ -24,7 +24,7 @@ public class LaaStatusService {
 
     private void mapTxnID(CourtDataDTO courtDataDTO) {
 
-        courtDataDTO.setTxId(identifierRepository.getTxnID());
+        courtDataDTO.setTxId(identifierAllocator.getTxnID());
 
     }
 }
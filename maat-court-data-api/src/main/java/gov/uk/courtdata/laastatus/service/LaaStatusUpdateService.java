@@ -0,0 +1,133 @@
+package gov.uk.courtdata.laastatus.service;
+
+import gov.uk.courtdata.dto.CourtDataDTO;
+import gov.uk.courtdata.enums.CdaPostFailurePolicy;
+import gov.uk.courtdata.laastatus.outbox.CdaOutboxService;
+import gov.uk.courtdata.model.laastatus.LaaStatusUpdate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * <code>LaaStatusUpdateService</code> posts a laa status update to CDA and applies it to the MAAT database.
+ * <p>
+ * By default the CDA post completes before the database update starts. In concurrent mode the post is started
+ * first and the database update runs while it is in flight, so the message takes as long as the slower of the
+ * two. The database update then no longer depends on CDA accepting the post, and a failed post is handled by
+ * the configured {@link CdaPostFailurePolicy}. The message is not failed once the database update has
+ * committed, as a redelivery would insert the MAAT rows again.
+ * <p>
+ * When the CDA outbox is enabled the post is not made here at all; the database update records it in the outbox.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LaaStatusUpdateService {
+
+    private final LaaStatusPostCDAService laaStatusPostCDAService;
+
+    private final LaaStatusService laaStatusService;
+
+    private final CdaOutboxService cdaOutboxService;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${laa-status.cda.concurrent:false}")
+    private boolean concurrent;
+
+    @Value("${laa-status.cda.failure-policy:RETRY}")
+    private CdaPostFailurePolicy failurePolicy;
+
+    @Value("${laa-status.cda.join-timeout:35000}")
+    private long joinTimeout;
+
+    public void update(final CourtDataDTO courtDataDTO, final String logging) {
+
+        if (cdaOutboxService.isEnabled()) {
+            log.info("Update LAA status, CDA post goes through the outbox {}", logging);
+            laaStatusService.execute(courtDataDTO);
+            log.info("After laa update {}", logging);
+            return;
+        }
+
+        if (!concurrent) {
+            log.info("POST Rep Order update to CDA {}", logging);
+            laaStatusPostCDAService.process(courtDataDTO);
+            log.info("Update LAA status {}", logging);
+            laaStatusService.execute(courtDataDTO);
+            log.info("After laa update {}", logging);
+            return;
+        }
+
+        final LaaStatusUpdate laaStatusUpdate = laaStatusPostCDAService.build(courtDataDTO);
+        if (failurePolicy == CdaPostFailurePolicy.RETRY
+                && cdaOutboxService.hasUnsent(courtDataDTO.getCaseDetails().getMaatId())) {
+            log.info("Update LAA status, an earlier CDA post is still in the outbox {}", logging);
+            laaStatusService.execute(courtDataDTO);
+            log.info("After laa update {}", logging);
+            recordInOutbox(courtDataDTO, laaStatusUpdate, logging);
+            return;
+        }
+
+        log.info("POST Rep Order update to CDA and update LAA status {}", logging);
+        final CompletableFuture<Void> cdaPost = laaStatusPostCDAService.postAsync(laaStatusUpdate);
+        try {
+            laaStatusService.execute(courtDataDTO);
+        } catch (RuntimeException e) {
+            log.warn("LAA status update failed while the CDA post was in flight {}", logging);
+            throw e;
+        }
+        log.info("After laa update {}", logging);
+        awaitCdaPost(cdaPost, courtDataDTO, laaStatusUpdate, logging);
+    }
+
+    private void awaitCdaPost(final CompletableFuture<Void> cdaPost, final CourtDataDTO courtDataDTO,
+                              final LaaStatusUpdate laaStatusUpdate, final String logging) {
+        try {
+            cdaPost.get(joinTimeout, TimeUnit.MILLISECONDS);
+            log.info("CDA post completed {}", logging);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            onCdaPostFailure(courtDataDTO, laaStatusUpdate, logging, e);
+        } catch (ExecutionException | TimeoutException e) {
+            final Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            onCdaPostFailure(courtDataDTO, laaStatusUpdate, logging, cause);
+        }
+    }
+
+    private void onCdaPostFailure(final CourtDataDTO courtDataDTO, final LaaStatusUpdate laaStatusUpdate,
+                                  final String logging, final Throwable cause) {
+        Counter.builder("laa.status.cda.failures")
+                .description("CDA posts that failed after the MAAT database was updated")
+                .tag("policy", failurePolicy.name())
+                .register(meterRegistry)
+                .increment();
+        if (failurePolicy == CdaPostFailurePolicy.RETRY) {
+            log.warn("CDA post failed, adding it to the CDA outbox {} - {}", logging, cause.getMessage());
+            recordInOutbox(courtDataDTO, laaStatusUpdate, logging);
+        } else {
+            log.error("CDA post failed, the MAAT database has been updated {}", logging, cause);
+        }
+    }
+
+    private void recordInOutbox(final CourtDataDTO courtDataDTO, final LaaStatusUpdate laaStatusUpdate,
+                                final String logging) {
+        try {
+            cdaOutboxService.record(courtDataDTO.getCaseDetails(), laaStatusUpdate);
+        } catch (RuntimeException e) {
+            Counter.builder("laa.status.cda.lost")
+                    .description("CDA posts that could not be recorded in the outbox after the MAAT database was updated")
+                    .register(meterRegistry)
+                    .increment();
+            log.error("Unable to add the CDA post to the outbox, the MAAT database has been updated {}", logging, e);
+        }
+    }
+}
@@ -2,8 +2,8 @@ package gov.uk.courtdata.link.impl;
 
 import gov.uk.courtdata.dto.CourtDataDTO;
 import gov.uk.courtdata.exception.MAATCourtDataException;
+import gov.uk.courtdata.identifier.IdentifierAllocator;
 import gov.uk.courtdata.link.processor.*;
-import gov.uk.courtdata.repository.IdentifierRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -26,7 +26,7 @@ public class SaveAndLinkImpl {
     private final OffenceInfoProcessor offenceInfoProcessor;
     private final ResultsInfoProcessor resultsInfoProcessor;
     private final RepOrderCPInfoProcessor repOrderCPInfoProcessor;
-    private final IdentifierRepository identifierRepository;
+    private final IdentifierAllocator identifierAllocator;
     private final RepOrderInfoProcessor repOrderInfoProcessor;
 
     @Transactional(rollbackFor = MAATCourtDataException.class)
@@ -59,10 +59,10 @@ public class SaveAndLinkImpl {
     }
 
     private void mapIdentifiers(CourtDataDTO courtDataDTO) {
-        courtDataDTO.setTxId(identifierRepository.getTxnID());
-        courtDataDTO.setLibraId(COMMON_PLATFORM + identifierRepository.getLibraID());
-        courtDataDTO.setProceedingId(identifierRepository.getProceedingID());
-        courtDataDTO.setCaseId(identifierRepository.getCaseID());
+        courtDataDTO.setTxId(identifierAllocator.getTxnID());
+        courtDataDTO.setLibraId(COMMON_PLATFORM + identifierAllocator.getLibraID());
+        courtDataDTO.setProceedingId(identifierAllocator.getProceedingID());
+        courtDataDTO.setCaseId(identifierAllocator.getCaseID());
     }
 
 }
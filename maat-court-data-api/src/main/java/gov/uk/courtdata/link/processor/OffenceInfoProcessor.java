@@ -1,5 +1,6 @@
 package gov.uk.courtdata.link.processor;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.dto.CourtDataDTO;
 import gov.uk.courtdata.entity.OffenceEntity;
 import gov.uk.courtdata.model.Offence;
@@ -20,6 +21,7 @@ import static gov.uk.courtdata.util.DateUtil.parse;
 public class OffenceInfoProcessor implements Process {
 
     private final OffenceRepository offenceRepository;
+    private final MessageEntityContext messageEntityContext;
 
     @Override
     public void process(CourtDataDTO courtDataDTO) {
@@ -29,6 +31,8 @@ public class OffenceInfoProcessor implements Process {
                 .map(offence -> buildOffences(offence, courtDataDTO))
                 .collect(Collectors.toList());
         offenceRepository.saveAll(offenceEntityList);
+        messageEntityContext.recordOffences(courtDataDTO.getCaseId(),
+                offenceEntityList.stream().map(OffenceEntity::getAsnSeq).collect(Collectors.toList()));
     }
 
     protected OffenceEntity buildOffences(Offence offence, CourtDataDTO courtDataDTO) {
@@ -1,5 +1,6 @@
 package gov.uk.courtdata.link.processor;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.dto.CourtDataDTO;
 import gov.uk.courtdata.entity.WqLinkRegisterEntity;
 import gov.uk.courtdata.model.CaseDetails;
@@ -14,6 +15,7 @@ import java.time.LocalDate;
 public class WqLinkRegisterProcessor implements Process {
 
     private final WqLinkRegisterRepository wqLinkRegisterRepository;
+    private final MessageEntityContext messageEntityContext;
 
     @Override
     public void process(CourtDataDTO courtDataDTO) {
@@ -34,6 +36,7 @@ public class WqLinkRegisterProcessor implements Process {
                 .mlrCat(maatCat)
                 .build();
         wqLinkRegisterRepository.save(wqLinkRegisterEntity);
+        messageEntityContext.evictLinkRegisters(caseDetails.getMaatId());
     }
 
     protected Integer geCategory(CourtDataDTO courtDataDTO) {
@@ -1,6 +1,9 @@
 package gov.uk.courtdata.link.service;
 
 import com.google.gson.Gson;
+import gov.uk.courtdata.enums.InboundQueue;
+import gov.uk.courtdata.jms.MaatIdOrderingGate;
+import gov.uk.courtdata.jms.QueueWorkScheduler;
 import gov.uk.courtdata.model.CaseDetails;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,14 +24,20 @@ public class CreateLinkListener {
 
     private final Gson gson;
 
+    private final MaatIdOrderingGate maatIdOrderingGate;
+
+    private final QueueWorkScheduler queueWorkScheduler;
+
     /**
      * @param message
      * @throws JmsException
      */
-    @JmsListener(destination = "${cloud-platform.aws.sqs.queue.link}")
+    @JmsListener(destination = "${cloud-platform.aws.sqs.queue.link}",
+            containerFactory = "linkListenerContainerFactory")
     public void receive(@Payload final String message)  {
 
         CaseDetails linkMessage = gson.fromJson(message, CaseDetails.class);
-        createLinkService.saveAndLink(linkMessage);
+        maatIdOrderingGate.run(linkMessage.getMaatId(),
+                () -> queueWorkScheduler.run(InboundQueue.LINK, () -> createLinkService.saveAndLink(linkMessage)));
     }
 }
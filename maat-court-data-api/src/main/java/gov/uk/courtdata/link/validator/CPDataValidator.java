@@ -1,9 +1,9 @@
 package gov.uk.courtdata.link.validator;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.entity.RepOrderCPDataEntity;
 import gov.uk.courtdata.exception.ValidationException;
 import gov.uk.courtdata.model.CaseDetails;
-import gov.uk.courtdata.repository.RepOrderCPDataRepository;
 import gov.uk.courtdata.validator.IValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,7 +19,7 @@ import static org.apache.commons.lang3.StringUtils.isEmpty;
 @Component
 public class CPDataValidator implements IValidator<Void, CaseDetails> {
 
-    private final RepOrderCPDataRepository repOrderCPDataRepository;
+    private final MessageEntityContext messageEntityContext;
 
     @Override
     public Optional<Void> validate(CaseDetails caseDetails) {
@@ -27,7 +27,7 @@ public class CPDataValidator implements IValidator<Void, CaseDetails> {
         if (isEmpty(caseDetails.getCaseUrn()))
             throw new ValidationException("CaseURN can't be null or empty on request.");
 
-        Optional<RepOrderCPDataEntity> repOrderCPDataEntity = repOrderCPDataRepository.findByrepOrderId(caseDetails.getMaatId());
+        Optional<RepOrderCPDataEntity> repOrderCPDataEntity = messageEntityContext.findRepOrderCPData(caseDetails.getMaatId());
 
         if (repOrderCPDataEntity.isEmpty())
                 throw new ValidationException(
@@ -1,7 +1,7 @@
 package gov.uk.courtdata.link.validator;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.exception.ValidationException;
-import gov.uk.courtdata.repository.WqLinkRegisterRepository;
 import gov.uk.courtdata.validator.IValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,7 +19,7 @@ import static java.lang.String.format;
 @Component
 public class LinkExistsValidator implements IValidator<Void, Integer> {
 
-    private final WqLinkRegisterRepository wqLinkRegisterRepository;
+    private final MessageEntityContext messageEntityContext;
 
 
     /**
@@ -32,7 +32,7 @@ public class LinkExistsValidator implements IValidator<Void, Integer> {
     @Override
     public Optional<Void> validate(Integer maatId) {
 
-        final int linkCount = wqLinkRegisterRepository.getCountByMaatId(maatId);
+        final int linkCount = messageEntityContext.countLinkRegisters(maatId);
 
         if (linkCount > 0)
             throw new ValidationException(format("%s: MaatId already linked to the application.", maatId));
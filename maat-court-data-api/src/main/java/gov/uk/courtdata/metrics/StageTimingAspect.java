@@ -0,0 +1,178 @@
+package gov.uk.courtdata.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <code>StageTimingAspect</code> times the queue listeners and each stage of the flows they run.
+ * <p>
+ * A flow is named after the outermost listener or transaction that was entered on the thread, so a processor
+ * shared by the link and the LAA status flows is timed separately for each. Processors, validators and
+ * repository calls are timed as stages of the current flow; a stage run outside any flow is tagged
+ * {@value #NO_FLOW}. Histograms for the percentiles are configured under
+ * <code>management.metrics.distribution</code>.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "metrics.stage-timing.enabled", havingValue = "true")
+public class StageTimingAspect {
+
+    public static final String LISTENER_TIMER = "sqs.listener.processing";
+    public static final String STAGE_TIMER = "maat.stage";
+
+    static final String NO_FLOW = "none";
+
+    private static final ThreadLocal<String> FLOW = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<Method, String> stageNames = new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Pointcut("execution(* gov.uk.courtdata.link.impl.SaveAndLinkImpl.execute(..))"
+            + " || execution(* gov.uk.courtdata.laastatus.impl.LaaStatusUpdateImpl.execute(..))"
+            + " || execution(* gov.uk.courtdata.hearing.processor.HearingWQProcessor.process*(..))")
+    public void transaction() {
+    }
+
+    @Pointcut("(execution(* gov.uk.courtdata..processor.*.process*(..))"
+            + " || execution(* gov.uk.courtdata..processor.*.saveAll(..))"
+            + " || execution(* gov.uk.courtdata..validator.*.validate(..)))"
+            + " && !transaction()")
+    public void stage() {
+    }
+
+    @Pointcut("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public void repositoryCall() {
+    }
+
+    /**
+     * Times a listener from the moment it is handed the message until it returns, including the time spent
+     * waiting for the ordering gate and a work permit.
+     *
+     * @param joinPoint
+     * @return
+     * @throws Throwable
+     */
+    @Around("execution(* gov.uk.courtdata.*.service.*.receive(..))")
+    public Object aroundReceive(ProceedingJoinPoint joinPoint) throws Throwable {
+        final String listener = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        return inFlow(listener, () -> time(joinPoint, LISTENER_TIMER, listener, null));
+    }
+
+    @Around("transaction()")
+    public Object aroundTransaction(ProceedingJoinPoint joinPoint) throws Throwable {
+        final String name = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        return inFlow(name, () -> time(joinPoint, STAGE_TIMER, currentFlow(), stageName(joinPoint)));
+    }
+
+    @Around("stage()")
+    public Object aroundStage(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, STAGE_TIMER, currentFlow(), stageName(joinPoint));
+    }
+
+    @Around("repositoryCall()")
+    public Object aroundRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, STAGE_TIMER, currentFlow(),
+                repositoryName(joinPoint.getTarget()) + "." + joinPoint.getSignature().getName());
+    }
+
+    private Object time(final ProceedingJoinPoint joinPoint, final String name, final String flowOrListener,
+                        final String stage) throws Throwable {
+        final long start = System.nanoTime();
+        boolean success = false;
+        try {
+            final Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            timer(name, flowOrListener, stage, success ? "success" : "failure")
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Timers are registered once per name and tags and then served from a local map, so a timed call does not
+     * pay for a registry lookup.
+     */
+    private Timer timer(final String name, final String flowOrListener, final String stage, final String outcome) {
+        final String key = name + '|' + flowOrListener + '|' + stage + '|' + outcome;
+        final Timer cached = timers.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return timers.computeIfAbsent(key, ignored -> {
+            if (LISTENER_TIMER.equals(name)) {
+                return Timer.builder(LISTENER_TIMER)
+                        .description("Time taken by a queue listener to process a message")
+                        .tags("listener", flowOrListener, "outcome", outcome)
+                        .register(meterRegistry);
+            }
+            return Timer.builder(STAGE_TIMER)
+                    .description("Time taken by a stage of a flow")
+                    .tags("flow", flowOrListener, "stage", stage, "outcome", outcome)
+                    .register(meterRegistry);
+        });
+    }
+
+    private String stageName(final ProceedingJoinPoint joinPoint) {
+        final Signature signature = joinPoint.getSignature();
+        if (signature instanceof MethodSignature) {
+            return stageNames.computeIfAbsent(((MethodSignature) signature).getMethod(),
+                    method -> method.getDeclaringClass().getSimpleName() + "." + method.getName());
+        }
+        return signature.getDeclaringType().getSimpleName() + "." + signature.getName();
+    }
+
+    private static String currentFlow() {
+        final String flow = FLOW.get();
+        return flow != null ? flow : NO_FLOW;
+    }
+
+    private static Object inFlow(final String flow, final TimedCall call) throws Throwable {
+        if (FLOW.get() != null) {
+            return call.proceed();
+        }
+        FLOW.set(flow);
+        try {
+            return call.proceed();
+        } finally {
+            FLOW.remove();
+        }
+    }
+
+    /**
+     * Spring Data repositories are proxies, so the stage is named after the repository interface rather than
+     * the class that runs the query.
+     */
+    private String repositoryName(final Object repository) {
+        return repositoryNames.computeIfAbsent(repository.getClass(), type ->
+                ClassUtils.getAllInterfacesForClassAsSet(type).stream()
+                        .filter(candidate -> candidate.getName().startsWith("gov.uk.courtdata."))
+                        .map(Class::getSimpleName)
+                        .findFirst()
+                        .orElse(type.getSimpleName()));
+    }
+
+    @FunctionalInterface
+    private interface TimedCall {
+        Object proceed() throws Throwable;
+    }
+}
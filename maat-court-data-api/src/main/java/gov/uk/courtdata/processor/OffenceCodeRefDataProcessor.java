@@ -2,6 +2,7 @@ package gov.uk.courtdata.processor;
 
 import gov.uk.courtdata.entity.XLATOffenceEntity;
 import gov.uk.courtdata.exception.MAATCourtDataException;
+import gov.uk.courtdata.refdata.XLATReferenceCache;
 import gov.uk.courtdata.repository.XLATOffenceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +19,7 @@ import static gov.uk.courtdata.constants.CourtDataConstants.*;
 public class OffenceCodeRefDataProcessor {
 
     private final XLATOffenceRepository xlatOffenceRepository;
+    private final XLATReferenceCache xlatReferenceCache;
 
 
     /**
@@ -27,12 +29,16 @@ public class OffenceCodeRefDataProcessor {
     public void processOffenceCode(final String offenceCode) {
 
         if (offenceCode != null) {
+            if (xlatReferenceCache.containsOffenceCode(offenceCode)) {
+                return;
+            }
             Optional<XLATOffenceEntity> xlatOffence =
                     xlatOffenceRepository.findById(offenceCode);
             if (xlatOffence.isEmpty()) {
                 createNewXLATOffence(offenceCode);
                 log.info("A New Offence Code : " + offenceCode + " has been added to the Ref Data");
             }
+            xlatReferenceCache.addOffenceCode(offenceCode);
         } else {
             throw new MAATCourtDataException("A Null Offence Code is passed in");
         }
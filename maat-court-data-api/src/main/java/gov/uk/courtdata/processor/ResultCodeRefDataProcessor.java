@@ -4,6 +4,7 @@ package gov.uk.courtdata.processor;
 import gov.uk.courtdata.entity.XLATResultEntity;
 import gov.uk.courtdata.enums.WQType;
 import gov.uk.courtdata.exception.MAATCourtDataException;
+import gov.uk.courtdata.refdata.XLATReferenceCache;
 import gov.uk.courtdata.repository.XLATResultRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +21,7 @@ import static gov.uk.courtdata.constants.CourtDataConstants.*;
 public class ResultCodeRefDataProcessor {
 
     private final XLATResultRepository xlatResultRepository;
+    private final XLATReferenceCache xlatReferenceCache;
 
     /**
      * if the Result Code is not available on XXMLA_XLAT_RESULT then
@@ -31,19 +33,26 @@ public class ResultCodeRefDataProcessor {
     public void processResultCode(final Integer resultCode) {
 
         if (resultCode != null) {
+            if (xlatReferenceCache.findWqType(resultCode).isPresent()) {
+                return;
+            }
             Optional<XLATResultEntity> xlatResult =
                     xlatResultRepository.findById(resultCode);
+            XLATResultEntity xlatResultEntity;
             if (xlatResult.isEmpty()) {
-                createNewXLATResult(resultCode);
+                xlatResultEntity = createNewXLATResult(resultCode);
                 log.info("A New CJS Result Code : " + resultCode + " has been added to the Ref Data");
+            } else {
+                xlatResultEntity = xlatResult.get();
             }
+            xlatReferenceCache.putResult(resultCode, xlatResultEntity.getWqType());
         } else {
             throw new MAATCourtDataException("A Null Result Code is passed in");
         }
     }
 
 
-    private void createNewXLATResult(final Integer resultCode) {
+    private XLATResultEntity createNewXLATResult(final Integer resultCode) {
 
         XLATResultEntity xlatResultEntity = XLATResultEntity.builder()
                 .cjsResultCode(resultCode)
@@ -56,8 +65,7 @@ public class ResultCodeRefDataProcessor {
                 .build();
 
         xlatResultRepository.save(xlatResultEntity);
-
-
+        return xlatResultEntity;
     }
 
     /**
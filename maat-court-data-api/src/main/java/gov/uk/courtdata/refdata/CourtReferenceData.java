@@ -0,0 +1,152 @@
+package gov.uk.courtdata.refdata;
+
+import gov.uk.courtdata.entity.AppealTypeEntity;
+import gov.uk.courtdata.entity.CourtHouseCodesEntity;
+import gov.uk.courtdata.entity.CrownCourtCode;
+import gov.uk.courtdata.entity.CrownCourtOutComeEntity;
+import gov.uk.courtdata.repository.AppealTypeRepository;
+import gov.uk.courtdata.repository.CourtHouseCodesRepository;
+import gov.uk.courtdata.repository.CrownCourtCodeRepository;
+import gov.uk.courtdata.repository.CrownCourtOutcomeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * <code>CourtReferenceData</code> answers the court reference lookups made while validating and processing
+ * messages from an in-memory {@link CourtReferenceSnapshot}. A value missing from the snapshot is checked
+ * against the database before being treated as invalid, so codes added since the last refresh still pass.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CourtReferenceData {
+
+    private static final String LOOKUP_METER = "refdata.court.lookups";
+
+    private final AppealTypeRepository appealTypeRepository;
+    private final CrownCourtOutcomeRepository crownCourtOutcomeRepository;
+    private final CourtHouseCodesRepository courtHouseCodesRepository;
+    private final CrownCourtCodeRepository crownCourtCodeRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicReference<CourtReferenceSnapshot> snapshot = new AtomicReference<>(CourtReferenceSnapshot.EMPTY);
+
+    @Scheduled(fixedDelayString = "${refdata.court.refresh-interval-ms:900000}")
+    public void refresh() {
+        try {
+            snapshot.set(load());
+            log.info("Court reference data snapshot refreshed");
+        } catch (RuntimeException e) {
+            log.warn("Court reference data refresh failed, keeping snapshot loaded at {}", snapshot.get().getLoadedAt(), e);
+        }
+    }
+
+    /**
+     * Drops the current snapshot and loads a new one straight away.
+     */
+    public CourtReferenceSnapshot evict() {
+        snapshot.set(CourtReferenceSnapshot.EMPTY);
+        refresh();
+        return snapshot.get();
+    }
+
+    public CourtReferenceSnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    public boolean isAppealType(final String appealType) {
+        if (appealType == null) {
+            return false;
+        }
+        return snapshot.get().getAppealTypes().contains(appealType)
+                ? hit("appealType")
+                : fallback("appealType", appealTypeRepository.existsById(appealType));
+    }
+
+    public boolean isCrownCourtOutcome(final String outcome) {
+        if (outcome == null) {
+            return false;
+        }
+        return snapshot.get().getCrownCourtOutcomes().contains(outcome)
+                ? hit("crownCourtOutcome")
+                : fallback("crownCourtOutcome", crownCourtOutcomeRepository.existsById(outcome));
+    }
+
+    public boolean isCourtHouseCode(final String courtLocation) {
+        if (courtLocation == null) {
+            return false;
+        }
+        if (snapshot.get().getCourtHouseCodes().contains(courtLocation)) {
+            return hit("courtHouseCode");
+        }
+        Integer count = courtHouseCodesRepository.getCount(courtLocation);
+        return fallback("courtHouseCode", count != null && count > 0);
+    }
+
+    public Optional<String> findCrownCourtCode(final String ouCode) {
+        if (ouCode == null) {
+            return Optional.empty();
+        }
+        String code = snapshot.get().getCrownCourtCodesByOuCode().get(ouCode);
+        if (code != null) {
+            hit("crownCourtCode");
+            return Optional.of(code);
+        }
+        Optional<String> found = crownCourtCodeRepository.findByOuCode(ouCode).map(CrownCourtCode::getCode);
+        fallback("crownCourtCode", found.isPresent());
+        return found;
+    }
+
+    private CourtReferenceSnapshot load() {
+        return new CourtReferenceSnapshot(
+                codes(appealTypeRepository.findAll(), AppealTypeEntity::getCode),
+                codes(crownCourtOutcomeRepository.findAll(), CrownCourtOutComeEntity::getOutcome),
+                codes(courtHouseCodesRepository.findAll(), CourtHouseCodesEntity::getCode),
+                crownCourtCodeRepository.findAll()
+                        .stream()
+                        .filter(c -> c.getOuCode() != null && c.getCode() != null)
+                        .collect(Collectors.collectingAndThen(
+                                Collectors.toMap(CrownCourtCode::getOuCode, CrownCourtCode::getCode, (first, second) -> first),
+                                Map::copyOf)),
+                LocalDateTime.now());
+    }
+
+    private static <T> Set<String> codes(final Collection<T> rows, final Function<T, String> code) {
+        return rows.stream()
+                .map(code)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private boolean hit(final String table) {
+        lookupCounter(table, "hit").increment();
+        return true;
+    }
+
+    private boolean fallback(final String table, final boolean found) {
+        lookupCounter(table, found ? "fallback_hit" : "fallback_miss").increment();
+        return found;
+    }
+
+    private Counter lookupCounter(final String table, final String outcome) {
+        return Counter.builder(LOOKUP_METER)
+                .description("Court reference data lookups")
+                .tag("table", table)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package gov.uk.courtdata.refdata;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint reporting the court reference snapshot and allowing it to be evicted and reloaded.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "referencedata")
+public class CourtReferenceDataEndpoint {
+
+    private final CourtReferenceData courtReferenceData;
+
+    @ReadOperation
+    public Map<String, Object> snapshot() {
+        return describe(courtReferenceData.getSnapshot());
+    }
+
+    @DeleteOperation
+    public Map<String, Object> evict() {
+        return describe(courtReferenceData.evict());
+    }
+
+    private Map<String, Object> describe(final CourtReferenceSnapshot snapshot) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("loadedAt", snapshot.getLoadedAt());
+        details.put("appealTypes", snapshot.getAppealTypes().size());
+        details.put("crownCourtOutcomes", snapshot.getCrownCourtOutcomes().size());
+        details.put("courtHouseCodes", snapshot.getCourtHouseCodes().size());
+        details.put("crownCourtCodes", snapshot.getCrownCourtCodesByOuCode().size());
+        return details;
+    }
+}
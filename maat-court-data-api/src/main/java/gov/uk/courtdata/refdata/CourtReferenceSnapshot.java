@@ -0,0 +1,27 @@
+package gov.uk.courtdata.refdata;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <code>CourtReferenceSnapshot</code> is an immutable copy of the small court reference tables used by the
+ * validators. A new instance is built on every refresh and swapped in whole.
+ */
+@Getter
+@AllArgsConstructor
+public final class CourtReferenceSnapshot {
+
+    static final CourtReferenceSnapshot EMPTY = new CourtReferenceSnapshot(Collections.emptySet(),
+            Collections.emptySet(), Collections.emptySet(), Collections.emptyMap(), null);
+
+    private final Set<String> appealTypes;
+    private final Set<String> crownCourtOutcomes;
+    private final Set<String> courtHouseCodes;
+    private final Map<String, String> crownCourtCodesByOuCode;
+    private final LocalDateTime loadedAt;
+}
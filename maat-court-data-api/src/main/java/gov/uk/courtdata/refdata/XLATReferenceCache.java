@@ -0,0 +1,131 @@
+package gov.uk.courtdata.refdata;
+
+import gov.uk.courtdata.entity.XLATOffenceEntity;
+import gov.uk.courtdata.entity.XLATResultEntity;
+import gov.uk.courtdata.repository.XLATOffenceRepository;
+import gov.uk.courtdata.repository.XLATResultRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <code>XLATReferenceCache</code> keeps the XXMLA_XLAT_OFFENCE codes and the XXMLA_XLAT_RESULT code to WQ type
+ * mapping in memory. A miss is not authoritative - callers fall back to the repository and write the
+ * answer (or the code they have just created) back through, once their transaction has committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class XLATReferenceCache {
+
+    private static final String LOOKUP_METER = "refdata.xlat.lookups";
+
+    private final XLATOffenceRepository xlatOffenceRepository;
+    private final XLATResultRepository xlatResultRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Set<String> offenceCodes = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, Integer> resultWqTypes = new ConcurrentHashMap<>();
+
+    private Counter offenceHits;
+    private Counter offenceMisses;
+    private Counter resultHits;
+    private Counter resultMisses;
+
+    @PostConstruct
+    public void init() {
+        offenceHits = lookupCounter("offence", "hit");
+        offenceMisses = lookupCounter("offence", "miss");
+        resultHits = lookupCounter("result", "hit");
+        resultMisses = lookupCounter("result", "miss");
+        meterRegistry.gaugeMapSize("refdata.xlat.result.size", Collections.emptyList(), resultWqTypes);
+        meterRegistry.gaugeCollectionSize("refdata.xlat.offence.size", Collections.emptyList(), offenceCodes);
+    }
+
+    /**
+     * Reloads both tables. Runs straight after start up to warm the cache and then on a fixed delay
+     * so that codes maintained outside this service are picked up.
+     */
+    @Scheduled(fixedDelayString = "${refdata.xlat.refresh-interval-ms:900000}")
+    public void refresh() {
+        try {
+            Set<String> offences = ConcurrentHashMap.newKeySet();
+            for (XLATOffenceEntity offence : xlatOffenceRepository.findAll()) {
+                offences.add(offence.getOffenceCode());
+            }
+            Map<Integer, Integer> results = new ConcurrentHashMap<>();
+            for (XLATResultEntity result : xlatResultRepository.findAll()) {
+                if (result.getWqType() != null) {
+                    results.put(result.getCjsResultCode(), result.getWqType());
+                }
+            }
+            offenceCodes.retainAll(offences);
+            offenceCodes.addAll(offences);
+            resultWqTypes.keySet().retainAll(results.keySet());
+            resultWqTypes.putAll(results);
+            log.info("XLAT reference cache refreshed with {} offence codes and {} result codes",
+                    offences.size(), results.size());
+        } catch (RuntimeException e) {
+            log.warn("XLAT reference cache refresh failed, keeping current entries", e);
+        }
+    }
+
+    public boolean containsOffenceCode(final String offenceCode) {
+        boolean hit = offenceCodes.contains(offenceCode);
+        (hit ? offenceHits : offenceMisses).increment();
+        return hit;
+    }
+
+    public void addOffenceCode(final String offenceCode) {
+        afterCommit(() -> offenceCodes.add(offenceCode));
+    }
+
+    public Optional<Integer> findWqType(final Integer resultCode) {
+        Integer wqType = resultWqTypes.get(resultCode);
+        (wqType != null ? resultHits : resultMisses).increment();
+        return Optional.ofNullable(wqType);
+    }
+
+    public void putResult(final Integer resultCode, final Integer wqType) {
+        if (wqType != null) {
+            afterCommit(() -> resultWqTypes.put(resultCode, wqType));
+        }
+    }
+
+    /**
+     * A code written through from inside a transaction may have just been inserted by it, so it is only cached
+     * once the transaction commits. A rollback leaves the cache as it was and the code is looked up again.
+     */
+    private static void afterCommit(final Runnable write) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                write.run();
+            }
+        });
+    }
+
+    private Counter lookupCounter(final String cache, final String outcome) {
+        return Counter.builder(LOOKUP_METER)
+                .description("XLAT reference cache lookups")
+                .tag("cache", cache)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,51 @@
+package gov.uk.courtdata.repository;
+
+import gov.uk.courtdata.entity.CdaOutboxEntity;
+import gov.uk.courtdata.enums.CdaOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CdaOutboxRepository extends JpaRepository<CdaOutboxEntity, Long> {
+
+    /**
+     * Finds the due rows that are the oldest unsent row for their MAAT id, so that a MAAT id never has two rows
+     * posted at once or a later row posted before an earlier one. A failed row keeps blocking the later rows
+     * until it is requeued and sent, as CDA would otherwise be left with an older representation order.
+     */
+    @Query("select o.id from CdaOutboxEntity o where o.status = :status and o.nextAttemptDate <= :now " +
+            "and not exists (select p.id from CdaOutboxEntity p where p.maatId = o.maatId and p.id < o.id " +
+            "and p.status in (gov.uk.courtdata.enums.CdaOutboxStatus.PENDING, gov.uk.courtdata.enums.CdaOutboxStatus.FAILED)) " +
+            "order by o.id")
+    List<Long> findDueIds(@Param("status") CdaOutboxStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    List<CdaOutboxEntity> findByStatusOrderById(CdaOutboxStatus status, Pageable pageable);
+
+    long countByStatus(CdaOutboxStatus status);
+
+    boolean existsByMaatIdAndStatusIn(Integer maatId, Collection<CdaOutboxStatus> statuses);
+
+    Optional<CdaOutboxEntity> findFirstByStatusOrderByCreatedDate(CdaOutboxStatus status);
+
+    /**
+     * Claims a due row by pushing its next attempt past the lease, so that no other instance picks it up while
+     * it is being posted. A row whose post never completes becomes due again once the lease expires.
+     *
+     * @return 1 when the row was claimed, 0 when another instance claimed it first.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update CdaOutboxEntity o set o.nextAttemptDate = :leaseUntil, o.attempts = o.attempts + 1 " +
+            "where o.id = :id and o.status = gov.uk.courtdata.enums.CdaOutboxStatus.PENDING and o.nextAttemptDate <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+}
@@ -6,24 +6,37 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 
 @Repository
 public interface OffenceRepository extends JpaRepository<OffenceEntity, Integer> {
 
     /**
-     * Get offences count for the case id and asn seq.
+     * Get the distinct asn seq values of the offences held for the case id.
      *
      * @param caseId
-     * @param asnSeq
      * @return
      */
-    @Query(value = "SELECT COUNT(*) FROM MLA.XXMLA_OFFENCE WHERE CASE_ID = ?1 AND ASN_SEQ = ?2", nativeQuery = true)
-    Integer getOffenceCountForAsnSeq(Integer caseId, String asnSeq);
+    @Query(value = "SELECT DISTINCT ASN_SEQ FROM MLA.XXMLA_OFFENCE WHERE CASE_ID = ?1", nativeQuery = true)
+    List<String> findAsnSeqByCaseId(Integer caseId);
 
 
-    @Query(value = "SELECT * FROM XXMLA_OFFENCE  WHERE tx_id =  (SELECT max( tx_id ) FROM XXMLA_OFFENCE " +
-            " WHERE CASE_ID = ?1 AND ASN_SEQ = ?2)", nativeQuery = true)
-    Optional<OffenceEntity> findByMaxTxId(Integer caseId, String asnSeq);
+    /**
+     * Get the offence id of the latest offence (max tx id) for every asn seq of the case id, in one statement.
+     * Rows are returned as a projection because offences written by the same message share a tx id.
+     *
+     * @param caseId
+     * @return
+     */
+    @Query(value = "SELECT o.ASN_SEQ AS \"asnSeq\", o.OFFENCE_ID AS \"offenceId\" FROM MLA.XXMLA_OFFENCE o " +
+            " JOIN (SELECT ASN_SEQ, MAX(TX_ID) AS MAX_TX_ID FROM MLA.XXMLA_OFFENCE WHERE CASE_ID = ?1 GROUP BY ASN_SEQ) latest " +
+            " ON o.ASN_SEQ = latest.ASN_SEQ AND o.TX_ID = latest.MAX_TX_ID WHERE o.CASE_ID = ?1", nativeQuery = true)
+    List<LatestOffence> findLatestOffencesByCaseId(Integer caseId);
+
+    interface LatestOffence {
+
+        String getAsnSeq();
 
+        String getOffenceId();
+    }
 }
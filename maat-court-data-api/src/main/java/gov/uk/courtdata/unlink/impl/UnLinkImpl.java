@@ -5,6 +5,7 @@ import gov.uk.courtdata.entity.UnlinkEntity;
 import gov.uk.courtdata.entity.WqCoreEntity;
 import gov.uk.courtdata.entity.WqLinkRegisterEntity;
 import gov.uk.courtdata.exception.MAATCourtDataException;
+import gov.uk.courtdata.identifier.IdentifierAllocator;
 import gov.uk.courtdata.model.Unlink;
 import gov.uk.courtdata.model.UnlinkModel;
 import gov.uk.courtdata.repository.*;
@@ -25,7 +26,7 @@ public class UnLinkImpl {
     private final WqLinkRegisterRepository wqLinkRegisterRepository;
     private final WqCoreRepository wqCoreRepository;
     private final UnlinkReasonRepository unlinkReasonRepository;
-    private final IdentifierRepository identifierRepository;
+    private final IdentifierAllocator identifierAllocator;
     private final RepOrderCPDataRepository repOrderCPDataRepository;
 
     @Transactional(rollbackFor = MAATCourtDataException.class)
@@ -39,7 +40,7 @@ public class UnLinkImpl {
     }
 
     private void mapTxnID(UnlinkModel unlinkModel) {
-        unlinkModel.setTxId(identifierRepository.getTxnID());
+        unlinkModel.setTxId(identifierAllocator.getTxnID());
     }
 
     private void processUnLinkWQRegister(UnlinkModel unlinkModel) {
@@ -1,11 +1,10 @@
 package gov.uk.courtdata.unlink.processor;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.entity.RepOrderCPDataEntity;
 import gov.uk.courtdata.entity.WqLinkRegisterEntity;
 import gov.uk.courtdata.model.Unlink;
 import gov.uk.courtdata.model.UnlinkModel;
-import gov.uk.courtdata.repository.RepOrderCPDataRepository;
-import gov.uk.courtdata.repository.WqLinkRegisterRepository;
 import gov.uk.courtdata.unlink.impl.UnLinkImpl;
 import gov.uk.courtdata.unlink.validator.UnLinkValidationProcessor;
 import lombok.RequiredArgsConstructor;
@@ -21,8 +20,7 @@ import java.util.Optional;
 public class UnLinkProcessor {
 
 
-    private final WqLinkRegisterRepository wqLinkRegisterRepository;
-    private final RepOrderCPDataRepository repOrderCPDataRepository;
+    private final MessageEntityContext messageEntityContext;
     private final UnLinkValidationProcessor unlinkValidator;
     private final UnLinkImpl unlinkImpl;
 
@@ -38,8 +36,8 @@ public class UnLinkProcessor {
 
     private void mapWqLinkRegister(UnlinkModel unlinkModel) {
         Integer maatId = unlinkModel.getUnlink().getMaatId();
-        List<WqLinkRegisterEntity> wqLinkRegisterEntityList = wqLinkRegisterRepository
-                .findBymaatId(maatId);
+        List<WqLinkRegisterEntity> wqLinkRegisterEntityList = messageEntityContext
+                .findLinkRegisters(maatId);
 
         unlinkValidator.validateWQLinkRegister(wqLinkRegisterEntityList, maatId);
 
@@ -49,7 +47,7 @@ public class UnLinkProcessor {
     private void mapRepOrderCpData(UnlinkModel unlinkModel) {
         Unlink unlink = unlinkModel.getUnlink();
         Optional<RepOrderCPDataEntity> repOrderCPDataEntity =
-                repOrderCPDataRepository.findByrepOrderId(unlink.getMaatId());
+                messageEntityContext.findRepOrderCPData(unlink.getMaatId());
         unlinkModel.setRepOrderCPDataEntity(repOrderCPDataEntity.orElse(null));
 
     }
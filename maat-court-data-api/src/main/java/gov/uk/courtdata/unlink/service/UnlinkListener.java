@@ -1,6 +1,9 @@
 package gov.uk.courtdata.unlink.service;
 
 import com.google.gson.Gson;
+import gov.uk.courtdata.enums.InboundQueue;
+import gov.uk.courtdata.jms.MaatIdOrderingGate;
+import gov.uk.courtdata.jms.QueueWorkScheduler;
 import gov.uk.courtdata.model.Unlink;
 import gov.uk.courtdata.unlink.processor.UnLinkProcessor;
 import lombok.AllArgsConstructor;
@@ -19,13 +22,19 @@ public class UnlinkListener {
 
     private final UnLinkProcessor unLinkProcessor;
 
+    private final MaatIdOrderingGate maatIdOrderingGate;
+
+    private final QueueWorkScheduler queueWorkScheduler;
+
     /**
      *
      */
-    @JmsListener(destination = "${cloud-platform.aws.sqs.queue.unlink}")
+    @JmsListener(destination = "${cloud-platform.aws.sqs.queue.unlink}",
+            containerFactory = "unlinkListenerContainerFactory")
     public void receive(@Payload final String message)  {
 
         Unlink unlink = gson.fromJson(message, Unlink.class);
-        unLinkProcessor.process(unlink);
+        maatIdOrderingGate.run(unlink.getMaatId(),
+                () -> queueWorkScheduler.run(InboundQueue.UNLINK, () -> unLinkProcessor.process(unlink)));
     }
 }
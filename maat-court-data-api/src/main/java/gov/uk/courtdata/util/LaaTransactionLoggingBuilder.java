@@ -1,27 +1,85 @@
 package gov.uk.courtdata.util;
 
-import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import gov.uk.courtdata.model.CaseDetails;
 import gov.uk.courtdata.model.LaaTransactionLogging;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.UUID;
+
 
 public class LaaTransactionLoggingBuilder {
 
+    private static final String LAA_TRANSACTION_ID = "laaTransactionId";
+    private static final String MAAT_ID = "maatId";
+    private static final String CASE_URN = "caseUrn";
+
     private LaaTransactionLoggingBuilder() {
 
     }
 
     public static LaaTransactionLogging get(CaseDetails caseDetails) {
-        Gson gson = new Gson();
-        return get(gson.toJson(caseDetails));
-
+        return LaaTransactionLogging.builder()
+                .laaTransactionId(caseDetails.getLaaTransactionId())
+                .maatId(caseDetails.getMaatId())
+                .caseUrn(caseDetails.getCaseUrn())
+                .build();
     }
 
 
+    /**
+     * Reads only the top level logging fields of the message. Nested values are skipped without being
+     * materialised and reading stops once all fields are found, so the typed decode done by the listener
+     * remains the only full parse of the payload.
+     *
+     * @param message
+     * @return
+     */
     public static LaaTransactionLogging get(String message) {
-        Gson gson = new Gson();
-        return gson.fromJson(message, LaaTransactionLogging.class);
 
+        UUID laaTransactionId = null;
+        Integer maatId = null;
+        String caseUrn = null;
+        int found = 0;
+
+        try (JsonReader reader = new JsonReader(new StringReader(message))) {
+            reader.setLenient(true);
+            reader.beginObject();
+            while (found < 3 && reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case LAA_TRANSACTION_ID:
+                        laaTransactionId = UUID.fromString(reader.nextString());
+                        found++;
+                        break;
+                    case MAAT_ID:
+                        maatId = reader.nextInt();
+                        found++;
+                        break;
+                    case CASE_URN:
+                        caseUrn = reader.nextString();
+                        found++;
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+        } catch (IOException | IllegalStateException | IllegalArgumentException e) {
+            throw new JsonSyntaxException(e);
+        }
+
+        return LaaTransactionLogging.builder()
+                .laaTransactionId(laaTransactionId)
+                .maatId(maatId)
+                .caseUrn(caseUrn)
+                .build();
     }
 
     public static String getStr(String message) {
@@ -1,8 +1,8 @@
 package gov.uk.courtdata.validator;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.entity.DefendantMAATDataEntity;
 import gov.uk.courtdata.exception.ValidationException;
-import gov.uk.courtdata.repository.DefendantMAATDataRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -18,7 +18,7 @@ import java.util.Optional;
 public class DefendantValidator implements IValidator<DefendantMAATDataEntity, Integer> {
 
 
-    private final DefendantMAATDataRepository defendantMAATDataRepository;
+    private final MessageEntityContext messageEntityContext;
 
     /**
      * @param maatId
@@ -29,7 +29,7 @@ public class DefendantValidator implements IValidator<DefendantMAATDataEntity, I
     public Optional<DefendantMAATDataEntity> validate(Integer maatId) {
 
         final Optional<DefendantMAATDataEntity> defendantViewEntity =
-                defendantMAATDataRepository.findBymaatId(maatId);
+                messageEntityContext.findDefendantMAATData(maatId);
 
         if (defendantViewEntity.isEmpty())
             throw new ValidationException("MAAT Defendant details not found.");
@@ -1,7 +1,7 @@
 package gov.uk.courtdata.validator;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.exception.MAATCourtDataException;
-import gov.uk.courtdata.repository.WqLinkRegisterRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -11,11 +11,11 @@ import static java.lang.String.format;
 @RequiredArgsConstructor
 public class LinkRegisterValidator {
 
-    private final WqLinkRegisterRepository wqLinkRegisterRepository;
+    private final MessageEntityContext messageEntityContext;
 
     public void validate(Integer maatId) {
 
-        final int linkCount = wqLinkRegisterRepository.getCountByMaatId(maatId);
+        final int linkCount = messageEntityContext.countLinkRegisters(maatId);
 
         if (linkCount == 0) {
             throw new MAATCourtDataException(format("MAAT Id : %s not linked.", maatId));
@@ -1,8 +1,8 @@
 package gov.uk.courtdata.validator;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.entity.RepOrderEntity;
 import gov.uk.courtdata.exception.ValidationException;
-import gov.uk.courtdata.repository.RepOrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -17,7 +17,7 @@ import java.util.Optional;
 @Component
 public class MaatIdValidator implements IValidator<Void, Integer> {
 
-    private final RepOrderRepository repOrderRepository;
+    private final MessageEntityContext messageEntityContext;
 
     /**
      * @param maatId
@@ -28,7 +28,7 @@ public class MaatIdValidator implements IValidator<Void, Integer> {
     public Optional<Void> validate(final Integer maatId) {
 
         if (maatId != null && maatId > 0) {
-            Optional<RepOrderEntity> repOrderEntity = repOrderRepository.findById(maatId);
+            Optional<RepOrderEntity> repOrderEntity = messageEntityContext.findRepOrder(maatId);
             if (repOrderEntity.isEmpty())
                 throw new ValidationException(maatId + " is Not a Valid MAAT ID");
             return Optional.empty();
@@ -2,7 +2,7 @@ package gov.uk.courtdata.validator;
 
 import gov.uk.courtdata.exception.ValidationException;
 import gov.uk.courtdata.model.CaseDetails;
-import gov.uk.courtdata.repository.CourtHouseCodesRepository;
+import gov.uk.courtdata.refdata.CourtReferenceData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -21,7 +21,7 @@ import static java.lang.String.format;
 public class ReferenceDataValidator implements IValidator<Void, CaseDetails> {
 
 
-    private final CourtHouseCodesRepository courtHouseCodesRepository;
+    private final CourtReferenceData courtReferenceData;
 
     /**
      * @param caseDetailsJson
@@ -34,9 +34,7 @@ public class ReferenceDataValidator implements IValidator<Void, CaseDetails> {
 
         caseDetailsJson.getSessions().forEach(ses ->
         {
-            final int count = courtHouseCodesRepository.getCount(ses.getCourtLocation());
-
-            if (count == 0) {
+            if (!courtReferenceData.isCourtHouseCode(ses.getCourtLocation())) {
                 throw new ValidationException(format("Court location not found %s", ses.getCourtLocation()));
             }
         });
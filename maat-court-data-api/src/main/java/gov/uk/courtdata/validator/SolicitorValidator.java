@@ -1,8 +1,8 @@
 package gov.uk.courtdata.validator;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.entity.SolicitorMAATDataEntity;
 import gov.uk.courtdata.exception.ValidationException;
-import gov.uk.courtdata.repository.SolicitorMAATDataRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -21,7 +21,7 @@ import static org.apache.commons.lang3.StringUtils.isEmpty;
 @Component
 public class SolicitorValidator implements IValidator<SolicitorMAATDataEntity, Integer> {
 
-    private final SolicitorMAATDataRepository solicitorMAATDataRepository;
+    private final MessageEntityContext messageEntityContext;
 
     /**
      * @param maatId
@@ -31,7 +31,7 @@ public class SolicitorValidator implements IValidator<SolicitorMAATDataEntity, I
     public Optional<SolicitorMAATDataEntity> validate(Integer maatId) {
 
         Optional<SolicitorMAATDataEntity> solicitorViewEntity =
-                solicitorMAATDataRepository.findBymaatId(maatId);
+                messageEntityContext.findSolicitorMAATData(maatId);
 
         SolicitorMAATDataEntity solicitorData = solicitorViewEntity.orElseThrow(
                 () -> new ValidationException(format("Solicitor not found for maatId %s",
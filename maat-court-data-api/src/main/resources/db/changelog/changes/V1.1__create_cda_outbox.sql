@@ -0,0 +1,15 @@
+CREATE SEQUENCE "MLA"."CDA_OUTBOX_ID" MINVALUE 1 INCREMENT BY 1 START WITH 1 CACHE 20 NOORDER NOCYCLE;
+CREATE TABLE "MLA"."XXMLA_CDA_OUTBOX" (
+    ID NUMBER(18) NOT NULL,
+    MAAT_ID NUMBER(10),
+    LAA_TRANSACTION_ID VARCHAR2(36),
+    PAYLOAD CLOB NOT NULL,
+    STATUS VARCHAR2(20) NOT NULL,
+    ATTEMPTS NUMBER(5) DEFAULT 0 NOT NULL,
+    CREATED_DATE TIMESTAMP NOT NULL,
+    NEXT_ATTEMPT_DATE TIMESTAMP NOT NULL,
+    SENT_DATE TIMESTAMP,
+    LAST_ERROR VARCHAR2(4000),
+    CONSTRAINT XXMLA_CDA_OUTBOX_PK PRIMARY KEY (ID)
+);
+CREATE INDEX "MLA"."XXMLA_CDA_OUTBOX_DUE" ON "MLA"."XXMLA_CDA_OUTBOX" (STATUS, NEXT_ATTEMPT_DATE)
@@ -0,0 +1,147 @@
+package gov.uk.courtdata.context;
+
+import gov.uk.courtdata.entity.RepOrderEntity;
+import gov.uk.courtdata.entity.WqLinkRegisterEntity;
+import gov.uk.courtdata.repository.DefendantMAATDataRepository;
+import gov.uk.courtdata.repository.OffenceRepository;
+import gov.uk.courtdata.repository.RepOrderCPDataRepository;
+import gov.uk.courtdata.repository.RepOrderRepository;
+import gov.uk.courtdata.repository.SolicitorMAATDataRepository;
+import gov.uk.courtdata.repository.WqLinkRegisterRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MessageEntityContextTest {
+
+    @Mock
+    private RepOrderRepository repOrderRepository;
+    @Mock
+    private RepOrderCPDataRepository repOrderCPDataRepository;
+    @Mock
+    private SolicitorMAATDataRepository solicitorMAATDataRepository;
+    @Mock
+    private DefendantMAATDataRepository defendantMAATDataRepository;
+    @Mock
+    private WqLinkRegisterRepository wqLinkRegisterRepository;
+    @Mock
+    private OffenceRepository offenceRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private MessageEntityContext messageEntityContext;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        messageEntityContext = new MessageEntityContext(repOrderRepository, repOrderCPDataRepository,
+                solicitorMAATDataRepository, defendantMAATDataRepository, wqLinkRegisterRepository, offenceRepository,
+                meterRegistry);
+    }
+
+    @After
+    public void tearDown() {
+        messageEntityContext.close();
+    }
+
+    @Test
+    public void givenContextIsOpen_whenRepOrderIsReadTwice_thenRepositoryIsQueriedOnce() {
+        //given
+        when(repOrderRepository.findById(1234)).thenReturn(Optional.of(RepOrderEntity.builder().id(1234).build()));
+        messageEntityContext.open();
+
+        //when
+        messageEntityContext.findRepOrder(1234);
+        Optional<RepOrderEntity> repOrder = messageEntityContext.findRepOrder(1234);
+
+        //then
+        assertThat(repOrder).isPresent();
+        verify(repOrderRepository, times(1)).findById(1234);
+        assertThat(meterRegistry.get("message.context.reads.saved").tag("entity", "repOrder")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenNoContext_whenRepOrderIsReadTwice_thenRepositoryIsQueriedEachTime() {
+        //when
+        messageEntityContext.findRepOrder(1234);
+        messageEntityContext.findRepOrder(1234);
+
+        //then
+        verify(repOrderRepository, times(2)).findById(1234);
+    }
+
+    @Test
+    public void givenContextIsOpen_whenLinksAreCountedThenRead_thenRowsAreLoadedOnce() {
+        //given
+        when(wqLinkRegisterRepository.findBymaatId(1234))
+                .thenReturn(Collections.singletonList(WqLinkRegisterEntity.builder().maatId(1234).build()));
+        messageEntityContext.open();
+
+        //when
+        int count = messageEntityContext.countLinkRegisters(1234);
+        messageEntityContext.findLinkRegisters(1234);
+
+        //then
+        assertThat(count).isEqualTo(1);
+        verify(wqLinkRegisterRepository, times(1)).findBymaatId(1234);
+        verify(wqLinkRegisterRepository, never()).getCountByMaatId(anyInt());
+    }
+
+    @Test
+    public void givenLinksAreEvicted_whenLinksAreReadAgain_thenRepositoryIsQueriedAgain() {
+        //given
+        when(wqLinkRegisterRepository.findBymaatId(1234)).thenReturn(Collections.emptyList());
+        messageEntityContext.open();
+        messageEntityContext.countLinkRegisters(1234);
+
+        //when
+        messageEntityContext.evictLinkRegisters(1234);
+        messageEntityContext.findLinkRegisters(1234);
+
+        //then
+        verify(wqLinkRegisterRepository, times(2)).findBymaatId(1234);
+    }
+
+    @Test
+    public void givenContextIsOpen_whenOffencesAreRecorded_thenAsnSeqsAreAnsweredWithoutRequery() {
+        //given
+        when(offenceRepository.findAsnSeqByCaseId(5678)).thenReturn(Collections.singletonList("001"));
+        messageEntityContext.open();
+        messageEntityContext.findOffenceAsnSeqs(5678);
+
+        //when
+        messageEntityContext.recordOffences(5678, Collections.singletonList("002"));
+        Set<String> asnSeqs = messageEntityContext.findOffenceAsnSeqs(5678);
+
+        //then
+        assertThat(asnSeqs).containsExactlyInAnyOrder("001", "002");
+        verify(offenceRepository, times(1)).findAsnSeqByCaseId(5678);
+    }
+
+    @Test
+    public void givenContextIsAlreadyOpen_whenOpenedAgain_thenCallerDoesNotOwnIt() {
+        //given
+        assertThat(messageEntityContext.open()).isTrue();
+
+        //when
+        boolean opened = messageEntityContext.open();
+
+        //then
+        assertThat(opened).isFalse();
+        assertThat(messageEntityContext.isOpen()).isTrue();
+    }
+}
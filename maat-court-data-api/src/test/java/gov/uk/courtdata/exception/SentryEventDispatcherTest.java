@@ -0,0 +1,61 @@
+package gov.uk.courtdata.exception;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SentryEventDispatcherTest {
+
+    private MeterRegistry meterRegistry;
+
+    private SentryEventDispatcher sentryEventDispatcher;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sentryEventDispatcher = new SentryEventDispatcher(meterRegistry);
+        ReflectionTestUtils.setField(sentryEventDispatcher, "enabled", true);
+        ReflectionTestUtils.setField(sentryEventDispatcher, "successSampleRate", 0.0);
+        ReflectionTestUtils.setField(sentryEventDispatcher, "errorSampleRate", 0.0);
+        ReflectionTestUtils.setField(sentryEventDispatcher, "queueCapacity", 10);
+        sentryEventDispatcher.init();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        sentryEventDispatcher.shutdown();
+    }
+
+    @Test
+    public void givenSuccessIsNotSampled_whenSuccessIsRecorded_thenOnlyLocalCountersChange() {
+
+        //when
+        sentryEventDispatcher.recordSuccess();
+        sentryEventDispatcher.recordSuccess();
+
+        //then
+        assertThat(meterRegistry.get("queue.messages.processed").tag("outcome", "success").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("sentry.events.skipped").tag("type", "success").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.find("sentry.events.sent").counter()).isNull();
+    }
+
+    @Test
+    public void givenErrorIsNotSampled_whenErrorIsCaptured_thenFailureIsCounted() {
+
+        //when
+        sentryEventDispatcher.captureError(new RuntimeException("failed"));
+
+        //then
+        assertThat(meterRegistry.get("queue.messages.processed").tag("outcome", "failure").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("sentry.events.skipped").tag("type", "failure").counter().count())
+                .isEqualTo(1);
+    }
+}
@@ -1,14 +1,13 @@
 package gov.uk.courtdata.hearing.crowncourt.impl;
 
-import gov.uk.courtdata.entity.CrownCourtCode;
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.entity.RepOrderEntity;
 import gov.uk.courtdata.exception.MAATCourtDataException;
 import gov.uk.courtdata.model.Session;
 import gov.uk.courtdata.model.hearing.CCOutComeData;
 import gov.uk.courtdata.model.hearing.HearingResulted;
-import gov.uk.courtdata.repository.CrownCourtCodeRepository;
+import gov.uk.courtdata.refdata.CourtReferenceData;
 import gov.uk.courtdata.repository.CrownCourtProcessingRepository;
-import gov.uk.courtdata.repository.RepOrderRepository;
 import gov.uk.courtdata.util.DateUtil;
 import org.junit.Rule;
 import org.junit.Test;
@@ -36,9 +35,9 @@ public class CrownCourtProcessingImplTest {
     @Mock
     private CrownCourtProcessingRepository crownCourtProcessingRepository;
     @Mock
-    private RepOrderRepository repOrderRepository;
+    private MessageEntityContext messageEntityContext;
     @Mock
-    private CrownCourtCodeRepository crownCourtCodeRepository;
+    private CourtReferenceData courtReferenceData;
 
     @BeforeEach
     public void setUp() {
@@ -51,7 +50,6 @@ public class CrownCourtProcessingImplTest {
         //given
         CCOutComeData ccOutComeData = CCOutComeData.builder().build();
         Session session = Session.builder().courtLocation("OU").build();
-        CrownCourtCode crownCourtCode = CrownCourtCode.builder().code("123").ouCode("OU").build();
         HearingResulted hearingDetails = HearingResulted.builder()
                 .maatId(12345)
                 .session(session)
@@ -60,8 +58,8 @@ public class CrownCourtProcessingImplTest {
         RepOrderEntity repOrderEntity = RepOrderEntity.builder().catyCaseType("ABC").aptyCode("ACV").id(123).build();
 
         //when
-        when(repOrderRepository.findById(anyInt())).thenReturn(Optional.of(repOrderEntity));
-        when(crownCourtCodeRepository.findByOuCode(anyString())).thenReturn(Optional.of(crownCourtCode));
+        when(messageEntityContext.findRepOrder(anyInt())).thenReturn(Optional.of(repOrderEntity));
+        when(courtReferenceData.findCrownCourtCode(anyString())).thenReturn(Optional.of("123"));
         crownCourtProcessingImpl.execute(hearingDetails);
 
         //then
@@ -82,7 +80,6 @@ public class CrownCourtProcessingImplTest {
         //given
         CCOutComeData ccOutComeData = CCOutComeData.builder().caseEndDate("2020-02-02").build();
         Session session = Session.builder().courtLocation("OU").build();
-        CrownCourtCode crownCourtCode = CrownCourtCode.builder().code("123").ouCode("OU").build();
         HearingResulted hearingDetails = HearingResulted.builder()
                 .maatId(12345)
                 .session(session)
@@ -91,8 +88,8 @@ public class CrownCourtProcessingImplTest {
         RepOrderEntity repOrderEntity = RepOrderEntity.builder().catyCaseType("APPEAL CC").aptyCode("ACV").id(123).build();
 
         //when
-        when(repOrderRepository.findById(anyInt())).thenReturn(Optional.of(repOrderEntity));
-        when(crownCourtCodeRepository.findByOuCode(anyString())).thenReturn(Optional.of(crownCourtCode));
+        when(messageEntityContext.findRepOrder(anyInt())).thenReturn(Optional.of(repOrderEntity));
+        when(courtReferenceData.findCrownCourtCode(anyString())).thenReturn(Optional.of("123"));
         crownCourtProcessingImpl.execute(hearingDetails);
 
         //then
@@ -109,8 +106,6 @@ public class CrownCourtProcessingImplTest {
         //given
         CCOutComeData ccOutComeData = CCOutComeData.builder().caseEndDate("2020-02-02").build();
         Session session = Session.builder().courtLocation("OU").build();
-        CrownCourtCode crownCourtCode = CrownCourtCode.builder().code("123").ouCode("OU").build();
-        ;
         HearingResulted hearingDetails = HearingResulted.builder()
                 .maatId(12345)
                 .session(session)
@@ -119,8 +114,8 @@ public class CrownCourtProcessingImplTest {
         RepOrderEntity repOrderEntity = RepOrderEntity.builder().catyCaseType("NON APPEAL").aptyCode("ACV").id(123).build();
 
         //when
-        when(repOrderRepository.findById(anyInt())).thenReturn(Optional.of(repOrderEntity));
-        when(crownCourtCodeRepository.findByOuCode(anyString())).thenReturn(Optional.of(crownCourtCode));
+        when(messageEntityContext.findRepOrder(anyInt())).thenReturn(Optional.of(repOrderEntity));
+        when(courtReferenceData.findCrownCourtCode(anyString())).thenReturn(Optional.of("123"));
         crownCourtProcessingImpl.execute(hearingDetails);
 
         //then
@@ -145,8 +140,8 @@ public class CrownCourtProcessingImplTest {
 
         thrown.expectMessage("Crown Court Code Look Up is Failed");
         thrown.expect(MAATCourtDataException.class);
-        when(repOrderRepository.findById(anyInt())).thenReturn(Optional.of(repOrderEntity));
-        when(crownCourtCodeRepository.findByOuCode(anyString())).thenReturn(Optional.empty());
+        when(messageEntityContext.findRepOrder(anyInt())).thenReturn(Optional.of(repOrderEntity));
+        when(courtReferenceData.findCrownCourtCode(anyString())).thenReturn(Optional.empty());
         crownCourtProcessingImpl.execute(hearingDetails);
 
 
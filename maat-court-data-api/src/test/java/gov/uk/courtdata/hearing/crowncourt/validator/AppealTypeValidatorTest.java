@@ -1,10 +1,9 @@
 package gov.uk.courtdata.hearing.crowncourt.validator;
 
-import gov.uk.courtdata.entity.AppealTypeEntity;
 import gov.uk.courtdata.exception.MAATCourtDataException;
 import gov.uk.courtdata.model.hearing.CCOutComeData;
 import gov.uk.courtdata.model.hearing.HearingResulted;
-import gov.uk.courtdata.repository.AppealTypeRepository;
+import gov.uk.courtdata.refdata.CourtReferenceData;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,9 +14,6 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -30,7 +26,7 @@ public class AppealTypeValidatorTest {
     private AppealTypeValidator appealTypeValidator;
 
     @Mock
-    private AppealTypeRepository appealTypeRepository;
+    private CourtReferenceData courtReferenceData;
 
     @BeforeEach
     public void setUp() {
@@ -40,10 +36,6 @@ public class AppealTypeValidatorTest {
     @Test
     public void testAppealTypeCodes_whenInvalidTypeCodeIsPassedIn() {
 
-        //given
-        List<AppealTypeEntity> appealTypeEntityList = new ArrayList<>();
-        AppealTypeEntity appealTypeEntity1 = AppealTypeEntity.builder().code("ACV").build();
-        appealTypeEntityList.add(appealTypeEntity1);
         //given
         CCOutComeData ccOutComeData = CCOutComeData.builder().ccooOutcome("CONVICTED").appealType("XYZ").build();
         HearingResulted hearingDetails = HearingResulted.builder()
@@ -53,7 +45,7 @@ public class AppealTypeValidatorTest {
 
 
         //then
-        when(appealTypeRepository.findAll()).thenReturn(appealTypeEntityList);
+        when(courtReferenceData.isAppealType("XYZ")).thenReturn(false);
         thrown.expect(MAATCourtDataException.class);
         thrown.expectMessage("Invalid Appeal Type : XYZ is passed in for MAAT ID: 12345");
         appealTypeValidator.validate(hearingDetails);
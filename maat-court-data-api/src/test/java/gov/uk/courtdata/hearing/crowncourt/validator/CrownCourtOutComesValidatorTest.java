@@ -1,10 +1,9 @@
 package gov.uk.courtdata.hearing.crowncourt.validator;
 
-import gov.uk.courtdata.entity.CrownCourtOutComeEntity;
 import gov.uk.courtdata.exception.MAATCourtDataException;
 import gov.uk.courtdata.model.hearing.CCOutComeData;
 import gov.uk.courtdata.model.hearing.HearingResulted;
-import gov.uk.courtdata.repository.CrownCourtOutcomeRepository;
+import gov.uk.courtdata.refdata.CourtReferenceData;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,9 +14,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.util.ArrayList;
-import java.util.List;
-
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -29,7 +26,7 @@ public class CrownCourtOutComesValidatorTest {
     private CrownCourtOutComesValidator crownCourtOutComesValidator;
 
     @Mock
-    private CrownCourtOutcomeRepository crownCourtOutcomeRepository;
+    private CourtReferenceData courtReferenceData;
 
     @BeforeEach
     public void setUp() {
@@ -39,10 +36,6 @@ public class CrownCourtOutComesValidatorTest {
     @Test
     public void testCrownCourtOutComes_whenInvalidTypeOutComeIsPassedIn() {
 
-        //given
-        List<CrownCourtOutComeEntity> crownCourtOutComeEntities = new ArrayList<>();
-        CrownCourtOutComeEntity crownCourtOutComeEntity = CrownCourtOutComeEntity.builder().outcome("CONVICTED").build();
-        crownCourtOutComeEntities.add(crownCourtOutComeEntity);
         //given
         CCOutComeData ccOutComeData = CCOutComeData.builder().ccooOutcome("ABC").appealType("XYZ").build();
         HearingResulted hearingDetails = HearingResulted.builder()
@@ -52,11 +45,28 @@ public class CrownCourtOutComesValidatorTest {
 
 
         //then
-        when(crownCourtOutcomeRepository.findAll()).thenReturn(crownCourtOutComeEntities);
+        when(courtReferenceData.isCrownCourtOutcome("ABC")).thenReturn(false);
         thrown.expect(MAATCourtDataException.class);
         thrown.expectMessage("Invalid Crown Court Outcome : ABC is passed in for MAAT ID: 12345");
         crownCourtOutComesValidator.validate(hearingDetails);
 
     }
 
+    @Test
+    public void testCrownCourtOutComes_whenValidOutComeIsPassedIn_thenNoExceptionIsThrown() {
+
+        //given
+        CCOutComeData ccOutComeData = CCOutComeData.builder().ccooOutcome("CONVICTED").build();
+        HearingResulted hearingDetails = HearingResulted.builder()
+                .maatId(12345)
+                .ccOutComeData(ccOutComeData)
+                .build();
+
+        //when
+        when(courtReferenceData.isCrownCourtOutcome("CONVICTED")).thenReturn(true);
+        crownCourtOutComesValidator.validate(hearingDetails);
+
+        //then
+        verify(courtReferenceData).isCrownCourtOutcome("CONVICTED");
+    }
 }
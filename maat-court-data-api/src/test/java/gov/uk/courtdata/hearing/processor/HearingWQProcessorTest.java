@@ -1,18 +1,28 @@
 package gov.uk.courtdata.hearing.processor;
 
+import gov.uk.courtdata.entity.WQCaseEntity;
+import gov.uk.courtdata.entity.WqCoreEntity;
 import gov.uk.courtdata.hearing.dto.HearingDTO;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class HearingWQProcessorTest {
@@ -56,4 +66,33 @@ public class HearingWQProcessorTest {
         verify(wqResultProcessor,times(1)).process(hearingDTO);
         verify(wqSessionProcessor,times(1)).process(hearingDTO);
     }
+
+    @Test
+    public void givenSeveralResults_whenProcessAllIsInvoked_thenRowsAreBuiltFirstAndSavedPerTable() {
+
+        //given
+        HearingDTO first = HearingDTO.builder().maatId(1212).txId(1).build();
+        HearingDTO second = HearingDTO.builder().maatId(1212).txId(2).build();
+        WQCaseEntity firstCase = WQCaseEntity.builder().txId(1).build();
+        WQCaseEntity secondCase = WQCaseEntity.builder().txId(2).build();
+        when(wqCaseProcessor.build(first)).thenReturn(firstCase);
+        when(wqCaseProcessor.build(second)).thenReturn(secondCase);
+        when(wqCoreProcessor.build(first)).thenReturn(WqCoreEntity.builder().txId(1).build());
+        when(wqCoreProcessor.build(second)).thenReturn(WqCoreEntity.builder().txId(2).build());
+
+        //when
+        hearingWQProcessor.processAll(Arrays.asList(first, second));
+
+        //then
+        InOrder order = inOrder(wqCoreProcessor, wqCaseProcessor);
+        order.verify(wqCoreProcessor).build(second);
+        order.verify(wqCaseProcessor).saveAll(anyList());
+        verify(wqCaseProcessor).saveAll(List.of(firstCase, secondCase));
+        verify(wqSessionProcessor).saveAll(anyList());
+        verify(wqDefendantProcessor).saveAll(anyList());
+        verify(wqOffenceProcessor).saveAll(anyList());
+        verify(wqResultProcessor).saveAll(anyList());
+        verify(wqCoreProcessor).saveAll(anyList());
+        verify(wqCaseProcessor, never()).process(first);
+    }
 }
@@ -3,10 +3,11 @@ package gov.uk.courtdata.hearing.processor;
 import com.google.gson.Gson;
 import gov.uk.courtdata.builder.TestEntityDataBuilder;
 import gov.uk.courtdata.builder.TestModelDataBuilder;
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.entity.WqCoreEntity;
 import gov.uk.courtdata.entity.XLATResultEntity;
 import gov.uk.courtdata.hearing.dto.HearingDTO;
-import gov.uk.courtdata.repository.OffenceRepository;
+import gov.uk.courtdata.refdata.XLATReferenceCache;
 import gov.uk.courtdata.repository.WqCoreRepository;
 import gov.uk.courtdata.repository.XLATResultRepository;
 import org.junit.Before;
@@ -15,6 +16,7 @@ import org.junit.runner.RunWith;
 import org.mockito.*;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Collections;
 import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -31,8 +33,10 @@ public class WQCoreProcessorTest {
     private WqCoreRepository wqCoreRepository;
     @Spy
     private XLATResultRepository xlatResultRepository;
-    @Spy
-    private OffenceRepository offenceRepository;
+    @Mock
+    private MessageEntityContext messageEntityContext;
+    @Mock
+    private XLATReferenceCache xlatReferenceCache;
 
     private TestModelDataBuilder testModelDataBuilder;
 
@@ -50,7 +54,7 @@ public class WQCoreProcessorTest {
         HearingDTO hearingDTO = testModelDataBuilder.getHearingDTO();
 
         //when
-        when(offenceRepository.getOffenceCountForAsnSeq(Mockito.anyInt(),Mockito.anyString())).thenReturn(123);
+        when(messageEntityContext.findOffenceAsnSeqs(1234)).thenReturn(Collections.singleton("1"));
 
         XLATResultEntity xlatResultEntity = XLATResultEntity.builder().wqType(1).notes("some notes").build();
         Optional<XLATResultEntity> resultEntity = Optional.of(xlatResultEntity);
@@ -64,4 +68,32 @@ public class WQCoreProcessorTest {
         assertThat(argumentCaptor.getValue().getExtendedProcessing()).isEqualTo(99);
         assertThat(argumentCaptor.getValue().getWqType()).isEqualTo(1);
     }
- }
+
+    @Test
+    public void givenOffenceIsNotHeldForCase_whenProcessIsInvoked_thenExtendedProcessingIsZero() {
+        //given
+        HearingDTO hearingDTO = testModelDataBuilder.getHearingDTO();
+        when(messageEntityContext.findOffenceAsnSeqs(1234)).thenReturn(Collections.singleton("2"));
+        when(xlatReferenceCache.findWqType(Mockito.anyInt())).thenReturn(Optional.of(1));
+
+        //when
+        wqCoreProcessor.process(hearingDTO);
+
+        //then
+        verify(wqCoreRepository).save(argumentCaptor.capture());
+        assertThat(argumentCaptor.getValue().getExtendedProcessing()).isEqualTo(0);
+    }
+
+    @Test
+    public void givenResultCodeIsCached_whenFindWQTypeIsInvoked_thenRepositoryIsNotQueried() {
+        //given
+        when(xlatReferenceCache.findWqType(1234)).thenReturn(Optional.of(7));
+
+        //when
+        int wqType = wqCoreProcessor.findWQType(1234);
+
+        //then
+        assertThat(wqType).isEqualTo(7);
+        verify(xlatResultRepository, Mockito.never()).findById(Mockito.anyInt());
+    }
+}
@@ -2,18 +2,18 @@ package gov.uk.courtdata.hearing.service;
 
 import com.google.gson.Gson;
 import gov.uk.courtdata.exception.GlobalAppLoggingHandler;
+import gov.uk.courtdata.exception.SentryEventDispatcher;
 import gov.uk.courtdata.model.hearing.HearingResulted;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
 
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public class HearingResultedListenerAspectTest {
@@ -29,8 +29,10 @@ public class HearingResultedListenerAspectTest {
     @Mock
     private HearingResultedService hearingResultedService;
 
-    @InjectMocks
-    GlobalAppLoggingHandler globalAppLoggingHandler = new GlobalAppLoggingHandler();
+    @Mock
+    private SentryEventDispatcher sentryEventDispatcher;
+
+    private GlobalAppLoggingHandler globalAppLoggingHandler;
 
     @Rule
     public ExpectedException thrown = ExpectedException.none();
@@ -38,6 +40,7 @@ public class HearingResultedListenerAspectTest {
     @Before
     public void setUp() {
 
+        globalAppLoggingHandler = new GlobalAppLoggingHandler(sentryEventDispatcher);
         AspectJProxyFactory factory = new AspectJProxyFactory();
         factory.setTarget(hearingResultedListener);
         factory.addAspect(globalAppLoggingHandler);
@@ -60,4 +63,40 @@ public class HearingResultedListenerAspectTest {
         //then
         hearingResultedListenerProxy.receive(message);
     }
+
+    @Test
+    public void givenAsyncTelemetryIsEnabled_whenListenerThrows_thenErrorIsHandedToDispatcher() {
+
+        //given
+        String message = "{\"laaTransactionId\":\"c77c96ff-7cad-44cc-9e12-5bc80f5f2d9e\", \"maatId\": 1234}";
+        RuntimeException exception = new RuntimeException("failed");
+        when(sentryEventDispatcher.isEnabled()).thenReturn(true);
+        doThrow(exception).when(hearingResultedListener).receive(message);
+
+        //when
+        try {
+            hearingResultedListenerProxy.receive(message);
+        } catch (RuntimeException e) {
+            //then
+            verify(sentryEventDispatcher).captureError(exception);
+            verify(sentryEventDispatcher, never()).recordSuccess();
+            return;
+        }
+        throw new AssertionError("Expected the listener exception to be rethrown");
+    }
+
+    @Test
+    public void givenAsyncTelemetryIsEnabled_whenListenerSucceeds_thenSuccessIsRecorded() {
+
+        //given
+        String message = "{\"maatId\": 1234}";
+        when(sentryEventDispatcher.isEnabled()).thenReturn(true);
+
+        //when
+        hearingResultedListenerProxy.receive(message);
+
+        //then
+        verify(sentryEventDispatcher).recordSuccess();
+        verify(sentryEventDispatcher, never()).captureError(any());
+    }
 }
@@ -1,13 +1,18 @@
 package gov.uk.courtdata.hearing.service;
 
 import com.google.gson.Gson;
+import gov.uk.courtdata.jms.MaatIdOrderingGate;
+import gov.uk.courtdata.jms.QueueWorkScheduler;
+import gov.uk.courtdata.jms.SqsProperties;
 import gov.uk.courtdata.model.hearing.HearingResulted;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import static org.mockito.Mockito.*;
@@ -21,6 +26,10 @@ public class HearingResultedListenerTest {
     private Gson gson;
     @Mock
     private HearingResultedService hearingResultedService;
+    @Spy
+    private MaatIdOrderingGate maatIdOrderingGate = new MaatIdOrderingGate(new SimpleMeterRegistry());
+    @Spy
+    private QueueWorkScheduler queueWorkScheduler = new QueueWorkScheduler(new SqsProperties(), new SimpleMeterRegistry());
 
     @BeforeEach
     public void setUp() {
@@ -0,0 +1,83 @@
+package gov.uk.courtdata.identifier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IdentifierAllocatorTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private MeterRegistry meterRegistry;
+
+    private IdentifierAllocator identifierAllocator;
+
+    @Before
+    public void setUp() {
+        IdentifierProperties identifierProperties = new IdentifierProperties();
+        identifierProperties.setBlockSize(3);
+        identifierProperties.setRefillThreshold(0);
+        meterRegistry = new SimpleMeterRegistry();
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("Oracle");
+        identifierAllocator = new IdentifierAllocator(jdbcTemplate, identifierProperties, meterRegistry);
+        identifierAllocator.init();
+    }
+
+    @After
+    public void tearDown() {
+        identifierAllocator.shutdown();
+    }
+
+    @Test
+    public void givenABlockIsFetched_whenValuesAreRequested_thenTheyAreServedFromMemory() {
+        //given
+        when(jdbcTemplate.queryForList(contains("MLA.TXID"), eq(Integer.class), anyInt()))
+                .thenReturn(Arrays.asList(12, 10, 11), Arrays.asList(20, 21, 22));
+
+        //when
+        Set<Integer> handedOut = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            handedOut.add(identifierAllocator.getTxnID());
+        }
+
+        //then
+        assertThat(handedOut).containsExactlyInAnyOrder(10, 11, 12, 20);
+        verify(jdbcTemplate, times(2)).queryForList(contains("CONNECT BY LEVEL"), eq(Integer.class), eq(3));
+        assertThat(meterRegistry.get("identifier.block.refill").tag("sequence", "TXID").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenUnusedValues_whenAllocatorShutsDown_thenWastedValuesAreCounted() {
+        //given
+        when(jdbcTemplate.queryForList(contains("MLA.CASEID"), eq(Integer.class), anyInt()))
+                .thenReturn(Arrays.asList(1, 2, 3));
+
+        //when
+        identifierAllocator.getCaseID();
+        identifierAllocator.shutdown();
+
+        //then
+        assertThat(meterRegistry.get("identifier.values.wasted").tag("sequence", "CASEID").counter().count())
+                .isEqualTo(2.0);
+    }
+}
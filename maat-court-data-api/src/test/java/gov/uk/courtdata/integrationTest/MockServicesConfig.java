@@ -1,6 +1,7 @@
 package gov.uk.courtdata.integrationTest;
 
 import com.amazon.sqs.javamessaging.SQSConnectionFactory;
+import com.amazonaws.services.sqs.AmazonSQS;
 import gov.uk.courtdata.config.SentryConfig;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -22,6 +23,21 @@ public class MockServicesConfig {
     @MockBean(name = "sqsConnectionFactory")
     private SQSConnectionFactory sqsConnectionFactory;
 
+    @MockBean(name = "linkSqsConnectionFactory")
+    private SQSConnectionFactory linkSqsConnectionFactory;
+
+    @MockBean(name = "unlinkSqsConnectionFactory")
+    private SQSConnectionFactory unlinkSqsConnectionFactory;
+
+    @MockBean(name = "laaStatusSqsConnectionFactory")
+    private SQSConnectionFactory laaStatusSqsConnectionFactory;
+
+    @MockBean(name = "hearingResultedSqsConnectionFactory")
+    private SQSConnectionFactory hearingResultedSqsConnectionFactory;
+
+    @MockBean(name = "publishingSqsClient")
+    private AmazonSQS publishingSqsClient;
+
     @MockBean(name = "sentryConfig")
     private SentryConfig sentryConfig;
 
@@ -0,0 +1,71 @@
+package gov.uk.courtdata.integrationTest.entity;
+
+import gov.uk.MAATCourtDataApplication;
+import gov.uk.courtdata.entity.CaseEntity;
+import gov.uk.courtdata.integrationTest.MockServicesConfig;
+import gov.uk.courtdata.repository.CaseRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {MAATCourtDataApplication.class, MockServicesConfig.class})
+public class InsertOnlyEntityIntegrationTest {
+
+    @Autowired
+    private CaseRepository caseRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @Before
+    public void setUp() {
+        caseRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @After
+    public void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    public void givenNewEntity_whenSaved_thenItIsInsertedWithoutASelect() {
+        //given
+        CaseEntity caseEntity = CaseEntity.builder().txId(9001).caseId(9101).asn("ASN9001").build();
+        assertThat(caseEntity.isNew()).isTrue();
+
+        //when
+        caseRepository.save(caseEntity);
+
+        //then
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(caseEntity.isNew()).isFalse();
+    }
+
+    @Test
+    public void givenEntityReadFromTheDatabase_whenChecked_thenItIsNotNew() {
+        //given
+        caseRepository.save(CaseEntity.builder().txId(9002).caseId(9102).asn("ASN9002").build());
+
+        //when
+        CaseEntity loaded = caseRepository.findById(9002).orElseThrow(AssertionError::new);
+
+        //then
+        assertThat(loaded.isNew()).isFalse();
+    }
+}
@@ -0,0 +1,83 @@
+package gov.uk.courtdata.integrationTest.outbox;
+
+import gov.uk.MAATCourtDataApplication;
+import gov.uk.courtdata.entity.CdaOutboxEntity;
+import gov.uk.courtdata.enums.CdaOutboxStatus;
+import gov.uk.courtdata.integrationTest.MockServicesConfig;
+import gov.uk.courtdata.laastatus.outbox.CdaOutboxService;
+import gov.uk.courtdata.repository.CdaOutboxRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = {MAATCourtDataApplication.class, MockServicesConfig.class})
+public class CdaOutboxRepositoryIntegrationTest {
+
+    @Autowired
+    private CdaOutboxRepository cdaOutboxRepository;
+    @Autowired
+    private CdaOutboxService cdaOutboxService;
+
+    @Before
+    public void setUp() {
+        cdaOutboxRepository.deleteAll();
+    }
+
+    @Test
+    public void givenAnEarlierRowFailed_whenDueRowsAreFound_thenLaterRowsForTheMaatIdWaitBehindIt() {
+        //given
+        CdaOutboxEntity failed = cdaOutboxRepository.save(row(1234, CdaOutboxStatus.FAILED));
+        CdaOutboxEntity later = cdaOutboxRepository.save(row(1234, CdaOutboxStatus.PENDING));
+        CdaOutboxEntity other = cdaOutboxRepository.save(row(5678, CdaOutboxStatus.PENDING));
+
+        //when
+        List<Long> due = findDue();
+
+        //then
+        assertThat(due).containsExactly(other.getId());
+        assertThat(cdaOutboxService.hasUnsent(1234)).isTrue();
+
+        //when
+        cdaOutboxService.requeue(failed.getId());
+
+        //then
+        assertThat(findDue()).containsExactly(failed.getId(), other.getId());
+        assertThat(later.getId()).isGreaterThan(failed.getId());
+    }
+
+    @Test
+    public void givenEveryRowForTheMaatIdWasSent_whenChecked_thenNothingIsUnsent() {
+        //given
+        cdaOutboxRepository.save(row(1234, CdaOutboxStatus.SENT));
+
+        //then
+        assertThat(cdaOutboxService.hasUnsent(1234)).isFalse();
+    }
+
+    private List<Long> findDue() {
+        return cdaOutboxRepository.findDueIds(CdaOutboxStatus.PENDING, LocalDateTime.now().plusSeconds(1),
+                PageRequest.of(0, 20));
+    }
+
+    private CdaOutboxEntity row(final Integer maatId, final CdaOutboxStatus status) {
+        LocalDateTime now = LocalDateTime.now().minusMinutes(1);
+        return CdaOutboxEntity.builder()
+                .maatId(maatId)
+                .payload("{}")
+                .status(status)
+                .attempts(0)
+                .createdDate(now)
+                .nextAttemptDate(now)
+                .build();
+    }
+}
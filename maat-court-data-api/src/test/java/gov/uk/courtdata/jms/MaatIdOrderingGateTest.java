@@ -0,0 +1,110 @@
+package gov.uk.courtdata.jms;
+
+import gov.uk.courtdata.exception.MAATCourtDataException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MaatIdOrderingGateTest {
+
+    private MeterRegistry meterRegistry;
+
+    private MaatIdOrderingGate maatIdOrderingGate;
+
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        maatIdOrderingGate = new MaatIdOrderingGate(meterRegistry);
+        ReflectionTestUtils.setField(maatIdOrderingGate, "enabled", true);
+        ReflectionTestUtils.setField(maatIdOrderingGate, "maxQueuedPerKey", 1);
+        maatIdOrderingGate.init();
+        executorService = Executors.newFixedThreadPool(3);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void givenMessageInProgressForMaatId_whenMessagesArrive_thenSameIdWaitsAndOtherIdRuns() throws Exception {
+        //given
+        List<String> completed = new CopyOnWriteArrayList<>();
+        CountDownLatch firstRunning = new CountDownLatch(1);
+        CountDownLatch finishFirst = new CountDownLatch(1);
+        Future<?> first = executorService.submit(() -> maatIdOrderingGate.run(1234, () -> {
+            firstRunning.countDown();
+            await(finishFirst);
+            completed.add("first");
+        }));
+        assertThat(firstRunning.await(5, TimeUnit.SECONDS)).isTrue();
+
+        //when
+        Future<?> second = executorService.submit(() -> maatIdOrderingGate.run(1234, () -> completed.add("second")));
+        maatIdOrderingGate.run(5678, () -> completed.add("other"));
+
+        //then
+        assertThat(completed).containsExactly("other");
+        waitUntilContended();
+        finishFirst.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertThat(completed).containsExactly("other", "first", "second");
+        assertThat(meterRegistry.get("maat.ordering.contended").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("maat.ordering.active.keys").gauge().value()).isEqualTo(0);
+    }
+
+    @Test
+    public void givenQueueForMaatIdIsFull_whenAnotherMessageArrives_thenItIsRejected() throws Exception {
+        //given
+        CountDownLatch firstRunning = new CountDownLatch(1);
+        CountDownLatch finishFirst = new CountDownLatch(1);
+        Future<?> first = executorService.submit(() -> maatIdOrderingGate.run(1234, () -> {
+            firstRunning.countDown();
+            await(finishFirst);
+        }));
+        assertThat(firstRunning.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<?> second = executorService.submit(() -> maatIdOrderingGate.run(1234, () -> { }));
+        waitUntilContended();
+
+        //when //then
+        assertThatThrownBy(() -> maatIdOrderingGate.run(1234, () -> { }))
+                .isInstanceOf(MAATCourtDataException.class);
+        assertThat(meterRegistry.get("maat.ordering.rejected").counter().count()).isEqualTo(1);
+        finishFirst.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+    }
+
+    private void waitUntilContended() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("maat.ordering.contended").counter().count() < 1
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package gov.uk.courtdata.jms;
+
+import gov.uk.courtdata.exception.MAATCourtDataException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PayloadCodecTest {
+
+    private static final String PAYLOAD = "{\"maatId\": 1234, \"offences\": [" +
+            "{\"asnSeq\": \"001\"}, {\"asnSeq\": \"002\"}, {\"asnSeq\": \"003\"}, {\"asnSeq\": \"004\"}]}";
+
+    private SqsProperties sqsProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private PayloadCodec payloadCodec;
+
+    @Before
+    public void setUp() {
+        sqsProperties = new SqsProperties();
+        sqsProperties.getCompression().setEnabled(true);
+        sqsProperties.getCompression().setMinSizeBytes(64);
+        meterRegistry = new SimpleMeterRegistry();
+        payloadCodec = new PayloadCodec(sqsProperties, meterRegistry);
+    }
+
+    @Test
+    public void givenLargePayload_whenEncoded_thenItIsCompressedAndDecodesBack() {
+        //when
+        PayloadCodec.EncodedPayload encoded = payloadCodec.encode(PAYLOAD);
+
+        //then
+        assertThat(encoded.getContentEncoding()).isEqualTo(PayloadCodec.GZIP);
+        assertThat(encoded.getBody()).isNotEqualTo(PAYLOAD);
+        assertThat(payloadCodec.decode(encoded.getBody(), encoded.getContentEncoding())).isEqualTo(PAYLOAD);
+        assertThat(meterRegistry.get("sqs.payload.compression.ratio").tag("direction", "outbound")
+                .summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenDeflateEncoding_whenEncoded_thenItDecodesBack() {
+        //given
+        sqsProperties.getCompression().setEncoding(PayloadCodec.DEFLATE);
+
+        //when
+        PayloadCodec.EncodedPayload encoded = payloadCodec.encode(PAYLOAD);
+
+        //then
+        assertThat(encoded.getContentEncoding()).isEqualTo(PayloadCodec.DEFLATE);
+        assertThat(payloadCodec.decode(encoded.getBody(), PayloadCodec.DEFLATE)).isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    public void givenSmallPayload_whenEncoded_thenItIsSentAsPlainJson() {
+        //when
+        PayloadCodec.EncodedPayload encoded = payloadCodec.encode("{\"maatId\": 1234}");
+
+        //then
+        assertThat(encoded.getContentEncoding()).isNull();
+        assertThat(encoded.getBody()).isEqualTo("{\"maatId\": 1234}");
+    }
+
+    @Test
+    public void givenMessageWithoutEncoding_whenDecoded_thenItIsUnchanged() {
+        assertThat(payloadCodec.decode(PAYLOAD, null)).isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    public void givenUnsupportedEncoding_whenDecoded_thenExceptionIsThrown() {
+        assertThatThrownBy(() -> payloadCodec.decode("e30=", "br"))
+                .isInstanceOf(MAATCourtDataException.class)
+                .hasMessageContaining("br");
+    }
+}
@@ -0,0 +1,75 @@
+package gov.uk.courtdata.jms;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.boot.actuate.health.Status;
+
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.JMSException;
+import javax.jms.Session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PublishingConnectionFactoryTest {
+
+    @Mock
+    private ConnectionFactory sqsConnectionFactory;
+    @Mock
+    private Connection connection;
+    @Mock
+    private Session session;
+
+    private PublishingConnectionFactory publishingConnectionFactory;
+
+    @Before
+    public void setUp() {
+        publishingConnectionFactory = new PublishingConnectionFactory(sqsConnectionFactory, new SimpleMeterRegistry());
+        publishingConnectionFactory.setSessionCacheSize(2);
+    }
+
+    @Test
+    public void givenSessionIsReturned_whenPublishingAgain_thenCachedSessionIsReused() throws JMSException {
+        //given
+        when(sqsConnectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createSession(false, Session.AUTO_ACKNOWLEDGE)).thenReturn(session);
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            Connection shared = publishingConnectionFactory.createConnection();
+            shared.createSession(false, Session.AUTO_ACKNOWLEDGE).close();
+            shared.close();
+        }
+
+        //then
+        verify(sqsConnectionFactory, times(1)).createConnection();
+        verify(connection, times(1)).createSession(false, Session.AUTO_ACKNOWLEDGE);
+        assertThat(publishingConnectionFactory.getSessionsRequested()).isEqualTo(3);
+        assertThat(publishingConnectionFactory.getSessionsCreated()).isEqualTo(1);
+        assertThat(new PublishingConnectionHealthIndicator(publishingConnectionFactory).health().getStatus())
+                .isEqualTo(Status.UP);
+    }
+
+    @Test
+    public void givenConnectionCannotBeCreated_whenHealthIsChecked_thenItIsDown() throws JMSException {
+        //given
+        when(sqsConnectionFactory.createConnection()).thenThrow(new JMSException("unavailable"));
+
+        //when
+        try {
+            publishingConnectionFactory.createConnection();
+        } catch (JMSException e) {
+            // expected
+        }
+
+        //then
+        assertThat(new PublishingConnectionHealthIndicator(publishingConnectionFactory).health().getStatus())
+                .isEqualTo(Status.DOWN);
+    }
+}
@@ -0,0 +1,98 @@
+package gov.uk.courtdata.jms;
+
+import gov.uk.courtdata.enums.InboundQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueueWorkSchedulerTest {
+
+    private MeterRegistry meterRegistry;
+
+    private QueueWorkScheduler queueWorkScheduler;
+
+    private ExecutorService executorService;
+
+    @Before
+    public void setUp() {
+        SqsProperties sqsProperties = new SqsProperties();
+        sqsProperties.getScheduler().setEnabled(true);
+        sqsProperties.getScheduler().setPermits(2);
+        sqsProperties.getListener().getLaaStatus().setMinimumShare(1);
+        sqsProperties.getListener().getHearingResulted().setWeight(4);
+        meterRegistry = new SimpleMeterRegistry();
+        queueWorkScheduler = new QueueWorkScheduler(sqsProperties, meterRegistry);
+        queueWorkScheduler.init();
+        executorService = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void givenHearingBacklog_whenLaaStatusWorkArrives_thenReservedPermitIsUsed() throws Exception {
+        //given
+        CountDownLatch hearingRunning = new CountDownLatch(1);
+        CountDownLatch finishHearing = new CountDownLatch(1);
+        Future<?> firstHearing = executorService.submit(() -> queueWorkScheduler.run(InboundQueue.HEARING_RESULTED, () -> {
+            hearingRunning.countDown();
+            await(finishHearing);
+        }));
+        assertThat(hearingRunning.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Boolean> secondHearing = executorService.submit(
+                () -> queueWorkScheduler.call(InboundQueue.HEARING_RESULTED, () -> Boolean.TRUE));
+        waitUntilWaiting(InboundQueue.HEARING_RESULTED, 1);
+
+        //when
+        Boolean laaStatusResult = queueWorkScheduler.call(InboundQueue.LAA_STATUS, () -> Boolean.TRUE);
+
+        //then
+        assertThat(laaStatusResult).isTrue();
+        assertThat(secondHearing.isDone()).isFalse();
+        finishHearing.countDown();
+        firstHearing.get(5, TimeUnit.SECONDS);
+        assertThat(secondHearing.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("queue.scheduler.wait").tag("queue", "hearingResulted").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    public void givenSchedulerIsDisabled_whenWorkIsRun_thenItRunsImmediately() {
+        //given
+        QueueWorkScheduler disabled = new QueueWorkScheduler(new SqsProperties(), meterRegistry);
+
+        //when
+        String result = disabled.call(InboundQueue.UNLINK, () -> "done");
+
+        //then
+        assertThat(result).isEqualTo("done");
+    }
+
+    private void waitUntilWaiting(final InboundQueue queue, final int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("queue.scheduler.waiting").tag("queue", queue.value()).gauge().value() < expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package gov.uk.courtdata.jms;
+
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.GetQueueUrlResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchRequest;
+import com.amazonaws.services.sqs.model.SendMessageBatchResult;
+import com.amazonaws.services.sqs.model.SendMessageBatchResultEntry;
+import gov.uk.courtdata.exception.MAATCourtDataException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SqsBatchPublisherTest {
+
+    private static final String QUEUE_URL = "https://sqs.eu-west-2.amazonaws.com/000000000000/laa-status";
+
+    @Mock
+    private AmazonSQS publishingSqsClient;
+
+    private SqsBatchPublisher sqsBatchPublisher;
+
+    @Before
+    public void setUp() {
+        SqsProperties sqsProperties = new SqsProperties();
+        sqsProperties.getPublisher().getBatch().setEnabled(true);
+        sqsProperties.getPublisher().getBatch().setLingerMillis(500L);
+        sqsBatchPublisher = new SqsBatchPublisher(publishingSqsClient, sqsProperties, new SimpleMeterRegistry());
+        sqsBatchPublisher.init();
+        lenient().when(publishingSqsClient.getQueueUrl("laa-status")).thenReturn(new GetQueueUrlResult().withQueueUrl(QUEUE_URL));
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        sqsBatchPublisher.shutdown();
+    }
+
+    @Test
+    public void givenConcurrentPublishes_whenSent_thenTheyShareOneBatch() {
+        //given
+        when(publishingSqsClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> {
+            SendMessageBatchRequest request = invocation.getArgument(0);
+            return new SendMessageBatchResult().withSuccessful(request.getEntries().stream()
+                    .map(entry -> new SendMessageBatchResultEntry().withId(entry.getId()).withMessageId("m" + entry.getId()))
+                    .collect(Collectors.toList()));
+        });
+
+        //when
+        List<CompletableFuture<String>> sends = IntStream.range(0, 3)
+                .mapToObj(i -> CompletableFuture.supplyAsync(
+                        () -> sqsBatchPublisher.send("laa-status", "update " + i, null, null, null)))
+                .collect(Collectors.toList());
+        sends.forEach(CompletableFuture::join);
+
+        //then
+        ArgumentCaptor<SendMessageBatchRequest> captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(publishingSqsClient).sendMessageBatch(captor.capture());
+        assertThat(captor.getValue().getQueueUrl()).isEqualTo(QUEUE_URL);
+        assertThat(captor.getValue().getEntries()).hasSize(3);
+    }
+
+    @Test
+    public void givenEntryFailsOnTheServer_whenSent_thenItIsRetried() {
+        //given
+        when(publishingSqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(new SendMessageBatchResult().withFailed(new BatchResultErrorEntry()
+                        .withId("0").withCode("ServiceUnavailable").withSenderFault(false)))
+                .thenReturn(new SendMessageBatchResult().withSuccessful(new SendMessageBatchResultEntry()
+                        .withId("0").withMessageId("message-id")));
+
+        //when
+        String messageId = sqsBatchPublisher.send("laa-status", "update", null, null, null);
+
+        //then
+        assertThat(messageId).isEqualTo("message-id");
+        verify(publishingSqsClient, times(2)).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    @Test
+    public void givenEntryIsRejectedAsASenderFault_whenSent_thenPublishFailsWithoutRetry() {
+        //given
+        when(publishingSqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(new SendMessageBatchResult().withFailed(new BatchResultErrorEntry()
+                        .withId("0").withCode("InvalidMessageContents").withSenderFault(true)));
+
+        //then
+        assertThatThrownBy(() -> sqsBatchPublisher.send("laa-status", "update", null, null, null))
+                .isInstanceOf(MAATCourtDataException.class)
+                .hasMessageContaining("InvalidMessageContents");
+        verify(publishingSqsClient).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    @Test
+    public void givenFifoEntryFailsOnTheServer_whenSent_thenPublishFailsWithoutRetry() {
+        //given
+        when(publishingSqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenReturn(new SendMessageBatchResult().withFailed(new BatchResultErrorEntry()
+                        .withId("0").withCode("ServiceUnavailable").withSenderFault(false)));
+
+        //then
+        assertThatThrownBy(() -> sqsBatchPublisher.send("laa-status", "update", "1234", "dedup", null))
+                .isInstanceOf(MAATCourtDataException.class)
+                .hasMessageContaining("ServiceUnavailable");
+        verify(publishingSqsClient).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    @Test
+    public void givenCallerTimesOutWhileTheBatchIsInFlight_whenTheEntryFails_thenItIsNotRetried() throws InterruptedException {
+        //given
+        sqsBatchPublisher.shutdown();
+        SqsProperties sqsProperties = new SqsProperties();
+        sqsProperties.getPublisher().getBatch().setEnabled(true);
+        sqsProperties.getPublisher().getBatch().setLingerMillis(0L);
+        sqsProperties.getPublisher().getBatch().setSendTimeoutMillis(200L);
+        sqsBatchPublisher = new SqsBatchPublisher(publishingSqsClient, sqsProperties, new SimpleMeterRegistry());
+        sqsBatchPublisher.init();
+        when(publishingSqsClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> {
+            Thread.sleep(500L);
+            return new SendMessageBatchResult().withFailed(new BatchResultErrorEntry()
+                    .withId("0").withCode("ServiceUnavailable").withSenderFault(false));
+        });
+
+        //when
+        assertThatThrownBy(() -> sqsBatchPublisher.send("laa-status", "update", null, null, null))
+                .isInstanceOf(MAATCourtDataException.class)
+                .hasMessageContaining("Timed out");
+        sqsBatchPublisher.shutdown();
+
+        //then
+        verify(publishingSqsClient).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    @Test
+    public void givenPublisherIsShutDown_whenSent_thenPublishFailsAtOnce() throws InterruptedException {
+        //given
+        sqsBatchPublisher.shutdown();
+
+        //then
+        assertThatThrownBy(() -> sqsBatchPublisher.send("laa-status", "update", null, null, null))
+                .isInstanceOf(MAATCourtDataException.class)
+                .hasMessageContaining("not running");
+        verify(publishingSqsClient, never()).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+}
@@ -0,0 +1,77 @@
+package gov.uk.courtdata.laastatus.builder;
+
+import com.google.gson.Gson;
+import gov.uk.courtdata.builder.TestEntityDataBuilder;
+import gov.uk.courtdata.builder.TestModelDataBuilder;
+import gov.uk.courtdata.context.MessageEntityContext;
+import gov.uk.courtdata.dto.CourtDataDTO;
+import gov.uk.courtdata.entity.WqLinkRegisterEntity;
+import gov.uk.courtdata.model.CaseDetails;
+import gov.uk.courtdata.repository.OffenceRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CourtDataDTOBuilderTest {
+
+    @InjectMocks
+    private CourtDataDTOBuilder courtDataDTOBuilder;
+    @Mock
+    private MessageEntityContext messageEntityContext;
+    @Mock
+    private OffenceRepository offenceRepository;
+
+    private TestModelDataBuilder testModelDataBuilder;
+
+    @Before
+    public void setUp() {
+        testModelDataBuilder = new TestModelDataBuilder(new TestEntityDataBuilder(), new Gson());
+    }
+
+    @Test
+    public void givenCaseWithOffences_whenBuildIsInvoked_thenOffenceIdsAreResolvedInOneQuery() {
+        //given
+        CaseDetails caseDetails = testModelDataBuilder.getCaseDetails();
+        WqLinkRegisterEntity wqLinkRegisterEntity = WqLinkRegisterEntity.builder()
+                .caseId(345).proceedingId(345).libraId("CP12345").maatId(1234).build();
+        when(messageEntityContext.findLinkRegisters(1234)).thenReturn(Collections.singletonList(wqLinkRegisterEntity));
+        when(messageEntityContext.findSolicitorMAATData(1234)).thenReturn(Optional.empty());
+        when(messageEntityContext.findDefendantMAATData(1234)).thenReturn(Optional.empty());
+        when(offenceRepository.findLatestOffencesByCaseId(345))
+                .thenReturn(Arrays.asList(latestOffence("001", "offence-1"), latestOffence("002", "offence-2")));
+
+        //when
+        CourtDataDTO courtDataDTO = courtDataDTOBuilder.build(caseDetails);
+
+        //then
+        assertThat(courtDataDTO.getCaseId()).isEqualTo(345);
+        assertThat(courtDataDTO.getCaseDetails().getDefendant().getOffences().get(0).getOffenceId())
+                .isEqualTo("offence-1");
+        verify(offenceRepository, times(1)).findLatestOffencesByCaseId(345);
+    }
+
+    private OffenceRepository.LatestOffence latestOffence(final String asnSeq, final String offenceId) {
+        return new OffenceRepository.LatestOffence() {
+            @Override
+            public String getAsnSeq() {
+                return asnSeq;
+            }
+
+            @Override
+            public String getOffenceId() {
+                return offenceId;
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package gov.uk.courtdata.laastatus.client;
+
+import gov.uk.courtdata.exception.MAATCourtDataException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CdaCircuitBreakerTest {
+
+    private CdaClientProperties cdaClientProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private CdaCircuitBreaker cdaCircuitBreaker;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        cdaClientProperties = new CdaClientProperties();
+        cdaClientProperties.getCircuitBreaker().setEnabled(true);
+        cdaClientProperties.getCircuitBreaker().setMinimumCalls(4);
+        cdaClientProperties.getCircuitBreaker().setWindowSize(4);
+        cdaClientProperties.getCircuitBreaker().setFailureRateThreshold(50);
+        cdaClientProperties.getCircuitBreaker().setHalfOpenCalls(1);
+        meterRegistry = new SimpleMeterRegistry();
+        cdaCircuitBreaker = new CdaCircuitBreaker(cdaClientProperties, meterRegistry);
+        cdaCircuitBreaker.init();
+    }
+
+    @Test
+    public void givenFailureRateReachesTheThreshold_whenCalled_thenCircuitOpensAndFailsFast() {
+        //given
+        succeed();
+        succeed();
+        fail();
+        fail();
+
+        //then
+        assertThat(cdaCircuitBreaker.getState()).isEqualTo(CdaCircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> cdaCircuitBreaker.protect(this::success).block())
+                .isInstanceOf(MAATCourtDataException.class)
+                .hasMessageContaining("circuit is open");
+        assertThat(calls.get()).isEqualTo(4);
+        assertThat(meterRegistry.get("cda.calls.rejected").tag("reason", "circuit_open").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenClientErrors_whenCalled_thenCircuitStaysClosed() {
+        //when
+        for (int i = 0; i < 4; i++) {
+            try {
+                cdaCircuitBreaker.protect(() -> Mono.error(WebClientResponseException.create(
+                        HttpStatus.BAD_REQUEST.value(), "Bad Request", null, null, null))).block();
+            } catch (WebClientResponseException expected) {
+                // CDA rejected the request
+            }
+        }
+
+        //then
+        assertThat(cdaCircuitBreaker.getState()).isEqualTo(CdaCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void givenOpenDurationHasPassed_whenProbeSucceeds_thenCircuitCloses() {
+        //given
+        cdaClientProperties.getCircuitBreaker().setOpenDuration(0L);
+        fail();
+        fail();
+        fail();
+        fail();
+        assertThat(cdaCircuitBreaker.getState()).isEqualTo(CdaCircuitBreaker.State.OPEN);
+
+        //when
+        succeed();
+
+        //then
+        assertThat(cdaCircuitBreaker.getState()).isEqualTo(CdaCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void givenHalfOpen_whenProbeFailsWithNonStandardStatus_thenCircuitOpensAndCallerSeesCdaError() {
+        //given
+        cdaClientProperties.getCircuitBreaker().setOpenDuration(0L);
+        fail();
+        fail();
+        fail();
+        fail();
+        assertThat(cdaCircuitBreaker.getState()).isEqualTo(CdaCircuitBreaker.State.OPEN);
+
+        //when
+        assertThatThrownBy(() -> cdaCircuitBreaker.protect(() -> Mono.error(WebClientResponseException.create(
+                520, "Unknown Error", null, null, null))).block())
+                .isInstanceOf(WebClientResponseException.class);
+
+        //then
+        assertThat(cdaCircuitBreaker.getState()).isEqualTo(CdaCircuitBreaker.State.OPEN);
+        succeed();
+        assertThat(cdaCircuitBreaker.getState()).isEqualTo(CdaCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void givenBulkheadIsFull_whenCalled_thenCallIsRejected() {
+        //given
+        cdaClientProperties.getBulkhead().setEnabled(true);
+        cdaClientProperties.getBulkhead().setMaxConcurrentCalls(1);
+        cdaCircuitBreaker = new CdaCircuitBreaker(cdaClientProperties, new SimpleMeterRegistry());
+        cdaCircuitBreaker.init();
+        Mono<Void> inFlight = cdaCircuitBreaker.protect(Mono::never);
+        inFlight.subscribe();
+
+        //then
+        assertThat(cdaCircuitBreaker.getCallsInFlight()).isEqualTo(1);
+        assertThatThrownBy(() -> cdaCircuitBreaker.protect(this::success).block())
+                .isInstanceOf(MAATCourtDataException.class)
+                .hasMessageContaining("bulkhead is full");
+    }
+
+    private Mono<String> success() {
+        calls.incrementAndGet();
+        return Mono.just("ok");
+    }
+
+    private void succeed() {
+        cdaCircuitBreaker.protect(this::success).block();
+    }
+
+    private void fail() {
+        try {
+            cdaCircuitBreaker.protect(() -> {
+                calls.incrementAndGet();
+                return Mono.error(new IllegalStateException("CDA unavailable"));
+            }).block();
+        } catch (IllegalStateException expected) {
+            // recorded as a failure
+        }
+    }
+}
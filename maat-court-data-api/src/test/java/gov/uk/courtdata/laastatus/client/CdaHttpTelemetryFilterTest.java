@@ -0,0 +1,104 @@
+package gov.uk.courtdata.laastatus.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CdaHttpTelemetryFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CdaHttpTelemetryFilter filter = new CdaHttpTelemetryFilter(meterRegistry, 1.0);
+
+    private final ClientRequest request = ClientRequest.create(HttpMethod.POST, URI.create("http://cda/laa_status/1234"))
+            .attribute(WebClient.class.getName() + ".uriTemplate", "http://cda/laa_status/{maatId}")
+            .build();
+
+    @Test
+    public void givenCdaResponds_whenFiltered_thenRequestIsTimedByUriTemplateAndStatus() {
+        //when
+        filter.filter(request, clientRequest -> Mono.just(ClientResponse.create(HttpStatus.ACCEPTED).build())).block();
+
+        //then
+        assertThat(meterRegistry.get("cda.http.client.requests")
+                .tag("method", "POST")
+                .tag("uri", "http://cda/laa_status/{maatId}")
+                .tag("status", "202")
+                .tag("outcome", "SUCCESS")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenConnectionFails_whenFiltered_thenFailureIsTimed() {
+        //when
+        assertThatThrownBy(() -> filter.filter(request, clientRequest -> Mono.error(new IOException("refused"))).block())
+                .hasCauseInstanceOf(IOException.class);
+
+        //then
+        assertThat(meterRegistry.get("cda.http.client.requests")
+                .tag("status", "IO_ERROR")
+                .tag("outcome", "IOException")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenNonStandardStatus_whenFiltered_thenResponseIsTimedAsAnError() {
+        //when
+        ClientResponse response = filter.filter(request, clientRequest -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .rawStatusCode(520).build())).block();
+
+        //then
+        assertThat(response.rawStatusCode()).isEqualTo(520);
+        assertThat(meterRegistry.get("cda.http.client.requests")
+                .tag("status", "520")
+                .tag("outcome", "ERROR")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenResponseTimesOut_whenFiltered_thenCancellationIsTimed() {
+        //when
+        assertThatThrownBy(() -> filter.filter(request, clientRequest -> Mono.never())
+                .timeout(Duration.ofMillis(10))
+                .block())
+                .hasCauseInstanceOf(TimeoutException.class);
+
+        //then
+        assertThat(meterRegistry.get("cda.http.client.requests")
+                .tag("status", "CANCELLED")
+                .tag("outcome", "CANCELLED")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenCredentialHeaders_whenRedacted_thenOnlyTheirValuesAreHidden() {
+        //given
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("secret-token");
+        headers.add("cookie", "session=abc");
+        headers.add(HttpHeaders.CONTENT_TYPE, "application/json");
+
+        //when
+        HttpHeaders redacted = CdaHttpTelemetryFilter.redact(headers);
+
+        //then
+        assertThat(redacted.getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo(CdaHttpTelemetryFilter.REDACTED);
+        assertThat(redacted.getFirst(HttpHeaders.COOKIE)).isEqualTo(CdaHttpTelemetryFilter.REDACTED);
+        assertThat(redacted.getFirst(HttpHeaders.CONTENT_TYPE)).isEqualTo("application/json");
+        assertThat(headers.getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer secret-token");
+    }
+}
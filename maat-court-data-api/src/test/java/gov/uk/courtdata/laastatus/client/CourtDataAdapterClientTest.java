@@ -0,0 +1,77 @@
+package gov.uk.courtdata.laastatus.client;
+
+import com.google.gson.Gson;
+import gov.uk.courtdata.model.laastatus.LaaStatusUpdate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CourtDataAdapterClientTest {
+
+    private final AtomicReference<ClientRequest> sentRequest = new AtomicReference<>();
+
+    private CourtDataAdapterClient clientRespondingWith(final HttpStatus status) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    sentRequest.set(request);
+                    return Mono.just(ClientResponse.create(status).body("{\"ignored\": true}").build());
+                })
+                .build();
+        CdaClientProperties cdaClientProperties = new CdaClientProperties();
+        CdaCircuitBreaker cdaCircuitBreaker = new CdaCircuitBreaker(cdaClientProperties, new SimpleMeterRegistry());
+        cdaCircuitBreaker.init();
+        CourtDataAdapterClient client =
+                new CourtDataAdapterClient(webClient, new Gson(), cdaClientProperties, cdaCircuitBreaker);
+        ReflectionTestUtils.setField(client, "laaUpdateUrl", "http://cda/laa_status");
+        return client;
+    }
+
+    @Test
+    public void givenCdaAcceptsTheUpdate_whenPostedAsync_thenTheHandleCompletes() {
+
+        //given
+        CourtDataAdapterClient client = clientRespondingWith(HttpStatus.ACCEPTED);
+
+        //when
+        CompletableFuture<Void> posted = client.postLaaStatusAsync(LaaStatusUpdate.builder().build());
+
+        //then
+        posted.join();
+        assertThat(sentRequest.get().method()).isEqualTo(HttpMethod.POST);
+        assertThat(sentRequest.get().url().toString()).isEqualTo("http://cda/laa_status");
+    }
+
+    @Test
+    public void givenCdaRejectsTheUpdate_whenPostedAsync_thenTheHandleCompletesExceptionally() {
+
+        //given
+        CourtDataAdapterClient client = clientRespondingWith(HttpStatus.INTERNAL_SERVER_ERROR);
+
+        //when
+        CompletableFuture<Void> posted = client.postLaaStatusAsync(LaaStatusUpdate.builder().build());
+
+        //then
+        assertThatThrownBy(posted::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(WebClientResponseException.class);
+    }
+
+    @Test(expected = WebClientResponseException.class)
+    public void givenCdaRejectsTheUpdate_whenPosted_thenExceptionIsThrown() {
+        clientRespondingWith(HttpStatus.BAD_REQUEST).postLaaStatus(LaaStatusUpdate.builder().build());
+    }
+}
@@ -0,0 +1,157 @@
+package gov.uk.courtdata.laastatus.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RefreshingOAuth2AuthorizedClientManagerTest {
+
+    private static final ClientRegistration REGISTRATION = ClientRegistration.withRegistrationId("cda")
+            .clientId("client")
+            .clientSecret("secret")
+            .tokenUri("http://cda/oauth/token")
+            .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+            .build();
+
+    private static final OAuth2AuthorizeRequest REQUEST = OAuth2AuthorizeRequest
+            .withClientRegistrationId("cda")
+            .principal("anonymousUser")
+            .build();
+
+    @Mock
+    private OAuth2AuthorizedClientManager delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RefreshingOAuth2AuthorizedClientManager manager;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        manager = new RefreshingOAuth2AuthorizedClientManager(delegate, Duration.ofSeconds(30), Duration.ofMinutes(5),
+                meterRegistry);
+    }
+
+    @Test
+    public void givenValidToken_whenAuthorized_thenCachedTokenIsReused() {
+        //given
+        OAuth2AuthorizedClient client = clientExpiringIn(Duration.ofHours(1));
+        when(delegate.authorize(any())).thenReturn(client);
+
+        //when
+        manager.authorize(REQUEST);
+        OAuth2AuthorizedClient second = manager.authorize(REQUEST);
+
+        //then
+        assertThat(second).isSameAs(client);
+        verify(delegate, times(1)).authorize(any());
+        assertThat(meterRegistry.get("cda.oauth.token.fetch").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenConcurrentRequestsWithoutToken_whenAuthorized_thenOneFetchIsMade() throws Exception {
+        //given
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        OAuth2AuthorizedClient client = clientExpiringIn(Duration.ofHours(1));
+        when(delegate.authorize(any())).thenAnswer(invocation -> {
+            fetching.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return client;
+        });
+
+        //when
+        List<CompletableFuture<OAuth2AuthorizedClient>> requests = IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> manager.authorize(REQUEST)))
+                .collect(Collectors.toList());
+        fetching.await(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        //then
+        for (CompletableFuture<OAuth2AuthorizedClient> request : requests) {
+            assertThat(request.get(5, TimeUnit.SECONDS)).isSameAs(client);
+        }
+        verify(delegate, times(1)).authorize(any());
+    }
+
+    @Test
+    public void givenTokenInsideRefreshWindow_whenRefreshed_thenNewTokenIsFetched() {
+        //given
+        OAuth2AuthorizedClient expiring = clientExpiringIn(Duration.ofMinutes(2));
+        OAuth2AuthorizedClient renewed = clientExpiringIn(Duration.ofHours(1));
+        when(delegate.authorize(any())).thenReturn(expiring, renewed);
+        manager.authorize(REQUEST);
+
+        //when
+        manager.refresh(REQUEST);
+
+        //then
+        assertThat(manager.authorize(REQUEST)).isSameAs(renewed);
+        verify(delegate, times(2)).authorize(any());
+    }
+
+    @Test
+    public void givenRefreshFails_whenTokenIsStillValid_thenCurrentTokenIsKept() {
+        //given
+        OAuth2AuthorizedClient expiring = clientExpiringIn(Duration.ofMinutes(2));
+        when(delegate.authorize(any())).thenReturn(expiring).thenThrow(new IllegalStateException("token endpoint down"));
+        manager.authorize(REQUEST);
+
+        //when
+        manager.refresh(REQUEST);
+
+        //then
+        assertThat(manager.authorize(REQUEST)).isSameAs(expiring);
+    }
+
+    @Test
+    public void givenTokenLivesNoLongerThanTheRefreshWindow_whenRefreshed_thenItIsKeptForHalfItsLifetime() {
+        //given
+        Instant now = Instant.now();
+        OAuth2AuthorizedClient shortLived = new OAuth2AuthorizedClient(REGISTRATION, "anonymousUser",
+                new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "short-lived", now, now.plus(Duration.ofMinutes(4))));
+        when(delegate.authorize(any())).thenReturn(shortLived);
+        manager.authorize(REQUEST);
+
+        //when
+        manager.refresh(REQUEST);
+        manager.refresh(REQUEST);
+
+        //then
+        assertThat(manager.authorize(REQUEST)).isSameAs(shortLived);
+        verify(delegate, times(1)).authorize(any());
+    }
+
+    /**
+     * Issues a token an hour ago, so that the refresh window is not capped by its lifetime.
+     */
+    private OAuth2AuthorizedClient clientExpiringIn(final Duration validity) {
+        Instant now = Instant.now();
+        return new OAuth2AuthorizedClient(REGISTRATION, "anonymousUser",
+                new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "token-" + validity,
+                        now.minus(Duration.ofHours(1)), now.plus(validity)));
+    }
+}
@@ -2,8 +2,11 @@
 package gov.uk.courtdata.laastatus.controller;
 
 import com.google.gson.Gson;
+import gov.uk.courtdata.dto.LaaStatusTrackingDTO;
+import gov.uk.courtdata.enums.PublishStatus;
 import gov.uk.courtdata.exception.MAATCourtDataException;
 import gov.uk.courtdata.exception.ValidationException;
+import gov.uk.courtdata.laastatus.service.LaaStatusAsyncPublisher;
 import gov.uk.courtdata.laastatus.service.LaaStatusPublisher;
 import gov.uk.courtdata.laastatus.validator.LaaStatusValidationProcessor;
 import gov.uk.courtdata.model.CaseDetails;
@@ -17,10 +20,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -35,6 +43,8 @@ public class LaaStatusUpdateControllerTest {
     private Gson gson;
     @Mock
     private LaaStatusPublisher laaStatusPublisher;
+    @Mock
+    private LaaStatusAsyncPublisher laaStatusAsyncPublisher;
 
     @Rule
     public ExpectedException exception = ExpectedException.none();
@@ -110,5 +120,42 @@ public class LaaStatusUpdateControllerTest {
 
 
     }
-}
 
+    @Test
+    public void givenAsyncModeIsEnabled_whenValidationIsPassed_thenUpdateIsAcceptedForBackgroundPublishing() {
+
+        //given
+        final CaseDetails caseDetails = CaseDetails.builder().maatId(5635539).build();
+        final MessageCollection messageCollection = MessageCollection.builder().messages(new ArrayList<>()).build();
+        final UUID trackingId = UUID.fromString("48e60e52-70f9-415d-8c57-c25a16419a7c");
+        String myString = "{\"maatId\": 5635539}";
+        when(gson.fromJson(myString, CaseDetails.class)).thenReturn(caseDetails);
+        when(laaStatusValidationProcessor.validate(caseDetails)).thenReturn(messageCollection);
+        when(laaStatusAsyncPublisher.isEnabled()).thenReturn(true);
+        when(laaStatusAsyncPublisher.submit(caseDetails)).thenReturn(LaaStatusTrackingDTO.builder()
+                .trackingId(trackingId).status(PublishStatus.ACCEPTED).build());
+
+        //when
+        ResponseEntity<MessageCollection> response =
+                laaStatusUpdateController.updateLAAStatus(trackingId.toString(), myString);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getHeaders().getLocation()).hasPath("/maatApi/laaStatus/" + trackingId);
+        verify(laaStatusPublisher, never()).publish(caseDetails);
+    }
+
+    @Test
+    public void givenUnknownTrackingId_whenStatusIsRequested_thenNotFoundIsReturned() {
+
+        //given
+        final UUID trackingId = UUID.randomUUID();
+        when(laaStatusAsyncPublisher.findStatus(trackingId)).thenReturn(Optional.empty());
+
+        //when
+        ResponseEntity<LaaStatusTrackingDTO> response = laaStatusUpdateController.getLAAStatusTracking(trackingId);
+
+        //then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+}
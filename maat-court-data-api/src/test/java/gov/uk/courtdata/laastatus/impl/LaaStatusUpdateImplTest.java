@@ -1,6 +1,7 @@
 package gov.uk.courtdata.laastatus.impl;
 
 import gov.uk.courtdata.dto.CourtDataDTO;
+import gov.uk.courtdata.laastatus.outbox.CdaOutboxService;
 import gov.uk.courtdata.laastatus.processor.UpdateDefendantInfoProcessor;
 import gov.uk.courtdata.laastatus.processor.UpdateOffenceInfoProcessor;
 import gov.uk.courtdata.laastatus.processor.UpdateWqCoreInfoProcessor;
@@ -17,8 +18,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public class LaaStatusUpdateImplTest {
@@ -42,6 +42,8 @@ public class LaaStatusUpdateImplTest {
     private SessionInfoProcessor sessionInfoProcessor;
     @Mock
     private UpdateOffenceInfoProcessor updateOffenceInfoProcessor;
+    @Mock
+    private CdaOutboxService cdaOutboxService;
 
     @BeforeEach
     public void setUp() {
@@ -64,5 +66,19 @@ public class LaaStatusUpdateImplTest {
         verify(updateDefendantInfoProcessor, times(1)).process(courtDataDTO);
         verify(sessionInfoProcessor, times(1)).process(courtDataDTO);
         verify(updateOffenceInfoProcessor, times(1)).process(courtDataDTO);
+        verify(cdaOutboxService, never()).enqueue(courtDataDTO);
+    }
+
+    @Test
+    public void givenOutboxIsEnabled_whenImplIsInvoked_thenRepresentationOrderIsAddedToTheOutbox() {
+        //given
+        CourtDataDTO courtDataDTO = CourtDataDTO.builder().build();
+        when(cdaOutboxService.isEnabled()).thenReturn(true);
+
+        //when
+        laaStatusUpdateImpl.execute(courtDataDTO);
+
+        //then
+        verify(cdaOutboxService).enqueue(courtDataDTO);
     }
 }
@@ -0,0 +1,151 @@
+package gov.uk.courtdata.laastatus.outbox;
+
+import gov.uk.courtdata.entity.CdaOutboxEntity;
+import gov.uk.courtdata.enums.CdaOutboxStatus;
+import gov.uk.courtdata.laastatus.client.CourtDataAdapterClient;
+import gov.uk.courtdata.repository.CdaOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CdaOutboxDispatcherTest {
+
+    @Mock
+    private CdaOutboxRepository cdaOutboxRepository;
+    @Mock
+    private CdaOutboxService cdaOutboxService;
+    @Mock
+    private CourtDataAdapterClient courtDataAdapterClient;
+
+    private CdaOutboxDispatcher cdaOutboxDispatcher;
+
+    @Before
+    public void setUp() {
+        cdaOutboxDispatcher = new CdaOutboxDispatcher(cdaOutboxRepository, cdaOutboxService, courtDataAdapterClient,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cdaOutboxDispatcher, "batchSize", 20);
+        ReflectionTestUtils.setField(cdaOutboxDispatcher, "concurrency", 2);
+        ReflectionTestUtils.setField(cdaOutboxDispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(cdaOutboxDispatcher, "backoff", 1000L);
+        ReflectionTestUtils.setField(cdaOutboxDispatcher, "maxBackoff", 3000L);
+        ReflectionTestUtils.setField(cdaOutboxDispatcher, "lease", 60000L);
+        cdaOutboxDispatcher.init();
+    }
+
+    @Test
+    public void givenOutboxIsDisabled_whenDispatched_thenNothingIsRead() {
+        //when
+        cdaOutboxDispatcher.dispatchDue();
+
+        //then
+        verifyNoInteractions(cdaOutboxRepository, courtDataAdapterClient);
+    }
+
+    @Test
+    public void givenDueRows_whenDispatched_thenClaimedRowsArePostedAndMarked() {
+        //given
+        CdaOutboxEntity sent = row(1L, 1, "{\"sent\": true}");
+        CdaOutboxEntity failing = row(2L, 1, "{\"sent\": false}");
+        CdaOutboxEntity exhausted = row(3L, 3, "{\"sent\": false}");
+        when(cdaOutboxService.isDispatching()).thenReturn(true);
+        when(cdaOutboxRepository.findDueIds(eq(CdaOutboxStatus.PENDING), any(), any()))
+                .thenReturn(Arrays.asList(1L, 2L, 3L, 4L));
+        when(cdaOutboxRepository.claim(anyLong(), any(), any())).thenReturn(1);
+        when(cdaOutboxRepository.claim(eq(4L), any(), any())).thenReturn(0);
+        when(cdaOutboxRepository.findAllById(Arrays.asList(1L, 2L, 3L))).thenReturn(Arrays.asList(sent, failing, exhausted));
+        when(courtDataAdapterClient.postLaaStatusJsonAsync("{\"sent\": true}"))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        CompletableFuture<Void> cdaDown = new CompletableFuture<>();
+        cdaDown.completeExceptionally(new IllegalStateException("CDA unavailable"));
+        when(courtDataAdapterClient.postLaaStatusJsonAsync("{\"sent\": false}")).thenReturn(cdaDown);
+        when(cdaOutboxRepository.findFirstByStatusOrderByCreatedDate(CdaOutboxStatus.PENDING)).thenReturn(Optional.empty());
+
+        //when
+        cdaOutboxDispatcher.dispatchDue();
+
+        //then
+        assertThat(sent.getStatus()).isEqualTo(CdaOutboxStatus.SENT);
+        assertThat(sent.getSentDate()).isNotNull();
+        assertThat(failing.getStatus()).isEqualTo(CdaOutboxStatus.PENDING);
+        assertThat(failing.getLastError()).isEqualTo("CDA unavailable");
+        assertThat(failing.getNextAttemptDate()).isAfter(LocalDateTime.now());
+        assertThat(exhausted.getStatus()).isEqualTo(CdaOutboxStatus.FAILED);
+        verify(cdaOutboxRepository, times(3)).save(any(CdaOutboxEntity.class));
+    }
+
+    @Test
+    public void givenPostCompletesOnAnotherThread_whenDispatched_thenOutcomeIsSavedOnThePollingThread() {
+        //given
+        CdaOutboxEntity claimed = row(1L, 1, "{\"sent\": true}");
+        when(cdaOutboxService.isDispatching()).thenReturn(true);
+        when(cdaOutboxRepository.findDueIds(eq(CdaOutboxStatus.PENDING), any(), any())).thenReturn(Collections.singletonList(1L));
+        when(cdaOutboxRepository.claim(eq(1L), any(), any())).thenReturn(1);
+        when(cdaOutboxRepository.findAllById(Collections.singletonList(1L))).thenReturn(Collections.singletonList(claimed));
+        when(courtDataAdapterClient.postLaaStatusJsonAsync("{\"sent\": true}")).thenReturn(CompletableFuture.runAsync(() -> { }));
+        when(cdaOutboxRepository.findFirstByStatusOrderByCreatedDate(CdaOutboxStatus.PENDING)).thenReturn(Optional.empty());
+        AtomicReference<Thread> savedOn = new AtomicReference<>();
+        when(cdaOutboxRepository.save(claimed)).thenAnswer(invocation -> {
+            savedOn.set(Thread.currentThread());
+            return claimed;
+        });
+
+        //when
+        cdaOutboxDispatcher.dispatchDue();
+
+        //then
+        assertThat(claimed.getStatus()).isEqualTo(CdaOutboxStatus.SENT);
+        assertThat(savedOn.get()).isSameAs(Thread.currentThread());
+    }
+
+    @Test
+    public void givenNoDueRows_whenDispatched_thenNothingIsPosted() {
+        //given
+        when(cdaOutboxService.isDispatching()).thenReturn(true);
+        when(cdaOutboxRepository.findDueIds(eq(CdaOutboxStatus.PENDING), any(), any())).thenReturn(Collections.emptyList());
+        when(cdaOutboxRepository.findFirstByStatusOrderByCreatedDate(CdaOutboxStatus.PENDING)).thenReturn(Optional.empty());
+
+        //when
+        cdaOutboxDispatcher.dispatchDue();
+
+        //then
+        verify(cdaOutboxRepository, never()).findAllById(anyList());
+        verifyNoInteractions(courtDataAdapterClient);
+    }
+
+    @Test
+    public void givenRepeatedFailures_whenBackoffIsCalculated_thenItDoublesUpToTheMaximum() {
+        assertThat(cdaOutboxDispatcher.backoffFor(1)).isEqualTo(1000L);
+        assertThat(cdaOutboxDispatcher.backoffFor(2)).isEqualTo(2000L);
+        assertThat(cdaOutboxDispatcher.backoffFor(3)).isEqualTo(3000L);
+    }
+
+    private CdaOutboxEntity row(final Long id, final int attempts, final String payload) {
+        return CdaOutboxEntity.builder()
+                .id(id)
+                .maatId(1234)
+                .payload(payload)
+                .status(CdaOutboxStatus.PENDING)
+                .attempts(attempts)
+                .createdDate(LocalDateTime.now())
+                .nextAttemptDate(LocalDateTime.now())
+                .build();
+    }
+}
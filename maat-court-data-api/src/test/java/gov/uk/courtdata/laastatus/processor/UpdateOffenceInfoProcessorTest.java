@@ -3,6 +3,7 @@ package gov.uk.courtdata.laastatus.processor;
 import com.google.gson.Gson;
 import gov.uk.courtdata.builder.TestEntityDataBuilder;
 import gov.uk.courtdata.builder.TestModelDataBuilder;
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.dto.CourtDataDTO;
 import gov.uk.courtdata.entity.OffenceEntity;
 import gov.uk.courtdata.model.Offence;
@@ -25,6 +26,8 @@ public class UpdateOffenceInfoProcessorTest {
     private UpdateOffenceInfoProcessor offenceInfoProcessor;
     @Spy
     private OffenceRepository offenceRepository;
+    @Mock
+    private MessageEntityContext messageEntityContext;
 
     private TestModelDataBuilder testModelDataBuilder;
     @Captor
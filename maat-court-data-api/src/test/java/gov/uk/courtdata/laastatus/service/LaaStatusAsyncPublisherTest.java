@@ -0,0 +1,92 @@
+package gov.uk.courtdata.laastatus.service;
+
+import gov.uk.courtdata.dto.LaaStatusTrackingDTO;
+import gov.uk.courtdata.enums.PublishStatus;
+import gov.uk.courtdata.model.CaseDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LaaStatusAsyncPublisherTest {
+
+    @Mock
+    private LaaStatusPublisher laaStatusPublisher;
+
+    private LaaStatusAsyncPublisher laaStatusAsyncPublisher;
+
+    @Before
+    public void setUp() {
+        laaStatusAsyncPublisher = new LaaStatusAsyncPublisher(laaStatusPublisher, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(laaStatusAsyncPublisher, "threads", 1);
+        ReflectionTestUtils.setField(laaStatusAsyncPublisher, "queueCapacity", 10);
+        ReflectionTestUtils.setField(laaStatusAsyncPublisher, "trackedUpdates", 10);
+        laaStatusAsyncPublisher.init();
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        laaStatusAsyncPublisher.shutdown();
+    }
+
+    @Test
+    public void givenUpdateIsSubmitted_whenItIsPublished_thenStatusIsEnqueued() throws InterruptedException {
+        //given
+        UUID trackingId = UUID.randomUUID();
+        CaseDetails caseDetails = CaseDetails.builder().maatId(1234).laaTransactionId(trackingId).build();
+
+        //when
+        LaaStatusTrackingDTO accepted = laaStatusAsyncPublisher.submit(caseDetails);
+        laaStatusAsyncPublisher.shutdown();
+
+        //then
+        assertThat(accepted.getStatus()).isEqualTo(PublishStatus.ACCEPTED);
+        verify(laaStatusPublisher).publish(caseDetails);
+        LaaStatusTrackingDTO tracking = laaStatusAsyncPublisher.findStatus(trackingId).orElseThrow(AssertionError::new);
+        assertThat(tracking.getStatus()).isEqualTo(PublishStatus.ENQUEUED);
+        assertThat(tracking.getEnqueuedAt()).isNotNull();
+    }
+
+    @Test
+    public void givenPublishFails_whenUpdateIsSubmitted_thenStatusIsFailed() throws InterruptedException {
+        //given
+        UUID trackingId = UUID.randomUUID();
+        CaseDetails caseDetails = CaseDetails.builder().maatId(1234).laaTransactionId(trackingId).build();
+        doThrow(new IllegalStateException("SQS unavailable")).when(laaStatusPublisher).publish(caseDetails);
+
+        //when
+        laaStatusAsyncPublisher.submit(caseDetails);
+        laaStatusAsyncPublisher.shutdown();
+
+        //then
+        LaaStatusTrackingDTO tracking = laaStatusAsyncPublisher.findStatus(trackingId).orElseThrow(AssertionError::new);
+        assertThat(tracking.getStatus()).isEqualTo(PublishStatus.FAILED);
+        assertThat(tracking.getError()).isEqualTo("SQS unavailable");
+    }
+
+    @Test
+    public void givenPublisherIsShutDown_whenUpdateIsSubmitted_thenItIsPublishedOnTheCallingThread() throws InterruptedException {
+        //given
+        UUID trackingId = UUID.randomUUID();
+        CaseDetails caseDetails = CaseDetails.builder().maatId(1234).laaTransactionId(trackingId).build();
+        laaStatusAsyncPublisher.shutdown();
+
+        //when
+        laaStatusAsyncPublisher.submit(caseDetails);
+
+        //then
+        verify(laaStatusPublisher).publish(caseDetails);
+        LaaStatusTrackingDTO tracking = laaStatusAsyncPublisher.findStatus(trackingId).orElseThrow(AssertionError::new);
+        assertThat(tracking.getStatus()).isEqualTo(PublishStatus.ENQUEUED);
+    }
+}
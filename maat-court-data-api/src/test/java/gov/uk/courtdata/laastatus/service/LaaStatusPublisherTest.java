@@ -1,17 +1,30 @@
 package gov.uk.courtdata.laastatus.service;
 
 
+import com.amazon.sqs.javamessaging.SQSMessagingClientConstants;
 import com.google.gson.Gson;
+import gov.uk.courtdata.jms.PayloadCodec;
+import gov.uk.courtdata.jms.SqsBatchPublisher;
+import gov.uk.courtdata.jms.SqsProperties;
 import gov.uk.courtdata.model.CaseDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessagePostProcessor;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import javax.jms.JMSException;
+import javax.jms.Message;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -23,6 +36,12 @@ public class LaaStatusPublisherTest {
     private JmsTemplate defaultJmsTemplate;
     @Mock
     private Gson gson;
+    @Mock
+    private SqsBatchPublisher sqsBatchPublisher;
+    @Spy
+    private PayloadCodec payloadCodec = new PayloadCodec(new SqsProperties(), new SimpleMeterRegistry());
+    @Captor
+    private ArgumentCaptor<MessagePostProcessor> postProcessorCaptor;
 
 
     @Test
@@ -39,4 +58,66 @@ public class LaaStatusPublisherTest {
         //then
         verify(defaultJmsTemplate, times(1)).convertAndSend(sqsQueue, "Case Details");
     }
+
+    @Test
+    public void givenFifoQueue_whenPublisherIsInvoked_thenGroupAndDeduplicationIdsAreSet() throws JMSException {
+
+        //given
+        UUID laaTransactionId = UUID.randomUUID();
+        CaseDetails caseDetails = CaseDetails.builder().maatId(1234).laaTransactionId(laaTransactionId).build();
+        ReflectionTestUtils.setField(laaStatusPublisher, "sqsQueueName", "laa-status.fifo");
+        when(gson.toJson(caseDetails)).thenReturn("Case Details");
+        Message message = mock(Message.class);
+
+        //when
+        laaStatusPublisher.publish(caseDetails);
+
+        //then
+        verify(defaultJmsTemplate).convertAndSend(eq("laa-status.fifo"), eq("Case Details"), postProcessorCaptor.capture());
+        postProcessorCaptor.getValue().postProcessMessage(message);
+        verify(message).setStringProperty(SQSMessagingClientConstants.JMSX_GROUP_ID, "1234");
+        verify(message).setStringProperty(SQSMessagingClientConstants.JMS_SQS_DEDUPLICATION_ID, laaTransactionId.toString());
+    }
+
+    @Test
+    public void givenBatchingIsEnabled_whenPublisherIsInvoked_thenMessageIsSentInABatch() {
+
+        //given
+        UUID laaTransactionId = UUID.randomUUID();
+        CaseDetails caseDetails = CaseDetails.builder().maatId(1234).laaTransactionId(laaTransactionId).build();
+        ReflectionTestUtils.setField(laaStatusPublisher, "sqsQueueName", "laa-status.fifo");
+        when(gson.toJson(caseDetails)).thenReturn("Case Details");
+        when(sqsBatchPublisher.isEnabled()).thenReturn(true);
+
+        //when
+        laaStatusPublisher.publish(caseDetails);
+
+        //then
+        verify(sqsBatchPublisher).send("laa-status.fifo", "Case Details", "1234", laaTransactionId.toString(), null);
+        verifyNoInteractions(defaultJmsTemplate);
+    }
+
+    @Test
+    public void givenCompressionIsEnabled_whenLargeUpdateIsPublished_thenContentEncodingIsSet() throws JMSException {
+
+        //given
+        SqsProperties sqsProperties = new SqsProperties();
+        sqsProperties.getCompression().setEnabled(true);
+        sqsProperties.getCompression().setMinSizeBytes(10);
+        PayloadCodec enabledCodec = new PayloadCodec(sqsProperties, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(laaStatusPublisher, "payloadCodec", enabledCodec);
+        CaseDetails caseDetails = CaseDetails.builder().laaTransactionId(UUID.randomUUID()).build();
+        when(gson.toJson(caseDetails)).thenReturn("{\"caseUrn\": \"CASNUM-ABC123\"}");
+        Message message = mock(Message.class);
+
+        //when
+        laaStatusPublisher.publish(caseDetails);
+
+        //then
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(defaultJmsTemplate).convertAndSend((String) isNull(), body.capture(), postProcessorCaptor.capture());
+        postProcessorCaptor.getValue().postProcessMessage(message);
+        verify(message).setStringProperty(PayloadCodec.CONTENT_ENCODING, PayloadCodec.GZIP);
+        assertThat(enabledCodec.decode(body.getValue(), PayloadCodec.GZIP)).isEqualTo("{\"caseUrn\": \"CASNUM-ABC123\"}");
+    }
 }
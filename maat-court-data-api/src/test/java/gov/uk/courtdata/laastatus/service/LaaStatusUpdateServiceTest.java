@@ -0,0 +1,155 @@
+package gov.uk.courtdata.laastatus.service;
+
+import gov.uk.courtdata.dto.CourtDataDTO;
+import gov.uk.courtdata.enums.CdaPostFailurePolicy;
+import gov.uk.courtdata.laastatus.outbox.CdaOutboxService;
+import gov.uk.courtdata.model.CaseDetails;
+import gov.uk.courtdata.model.laastatus.LaaStatusUpdate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LaaStatusUpdateServiceTest {
+
+    @Mock
+    private LaaStatusPostCDAService laaStatusPostCDAService;
+    @Mock
+    private LaaStatusService laaStatusService;
+    @Mock
+    private CdaOutboxService cdaOutboxService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CaseDetails caseDetails = CaseDetails.builder().maatId(1234).build();
+
+    private final CourtDataDTO courtDataDTO = CourtDataDTO.builder().caseDetails(caseDetails).build();
+
+    private final LaaStatusUpdate laaStatusUpdate = LaaStatusUpdate.builder().build();
+
+    private LaaStatusUpdateService laaStatusUpdateService;
+
+    @Before
+    public void setUp() {
+        laaStatusUpdateService = new LaaStatusUpdateService(laaStatusPostCDAService, laaStatusService,
+                cdaOutboxService, meterRegistry);
+        ReflectionTestUtils.setField(laaStatusUpdateService, "failurePolicy", CdaPostFailurePolicy.RETRY);
+        ReflectionTestUtils.setField(laaStatusUpdateService, "joinTimeout", 1000L);
+    }
+
+    @Test
+    public void givenSequentialMode_whenUpdated_thenCdaIsPostedBeforeTheDatabaseUpdate() {
+        //when
+        laaStatusUpdateService.update(courtDataDTO, "logging");
+
+        //then
+        InOrder inOrder = inOrder(laaStatusPostCDAService, laaStatusService);
+        inOrder.verify(laaStatusPostCDAService).process(courtDataDTO);
+        inOrder.verify(laaStatusService).execute(courtDataDTO);
+        verify(laaStatusPostCDAService, never()).postAsync(any());
+    }
+
+    @Test
+    public void givenConcurrentMode_whenUpdated_thenDatabaseIsUpdatedWhileCdaPostIsInFlight() {
+        //given
+        ReflectionTestUtils.setField(laaStatusUpdateService, "concurrent", true);
+        CompletableFuture<Void> cdaPost = new CompletableFuture<>();
+        when(laaStatusPostCDAService.build(courtDataDTO)).thenReturn(laaStatusUpdate);
+        when(laaStatusPostCDAService.postAsync(laaStatusUpdate)).thenReturn(cdaPost);
+        doAnswer(invocation -> {
+            assertThat(cdaPost).isNotDone();
+            cdaPost.complete(null);
+            return null;
+        }).when(laaStatusService).execute(courtDataDTO);
+
+        //when
+        laaStatusUpdateService.update(courtDataDTO, "logging");
+
+        //then
+        verify(laaStatusService).execute(courtDataDTO);
+        verify(laaStatusPostCDAService, never()).process(courtDataDTO);
+        verify(cdaOutboxService, never()).record(any(), any());
+    }
+
+    @Test
+    public void givenConcurrentModeWithRetryPolicy_whenCdaPostFails_thenBuiltUpdateIsRecordedInTheOutbox() {
+        //given
+        ReflectionTestUtils.setField(laaStatusUpdateService, "concurrent", true);
+        when(laaStatusPostCDAService.build(courtDataDTO)).thenReturn(laaStatusUpdate);
+        when(laaStatusPostCDAService.postAsync(laaStatusUpdate)).thenReturn(failedPost());
+
+        //when
+        laaStatusUpdateService.update(courtDataDTO, "logging");
+
+        //then
+        verify(laaStatusService).execute(courtDataDTO);
+        verify(cdaOutboxService).record(caseDetails, laaStatusUpdate);
+        verify(laaStatusPostCDAService).build(courtDataDTO);
+        assertThat(meterRegistry.get("laa.status.cda.failures").tag("policy", "RETRY").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenConcurrentModeWithLogPolicy_whenCdaPostFails_thenMessageIsStillProcessed() {
+        //given
+        ReflectionTestUtils.setField(laaStatusUpdateService, "concurrent", true);
+        ReflectionTestUtils.setField(laaStatusUpdateService, "failurePolicy", CdaPostFailurePolicy.LOG);
+        when(laaStatusPostCDAService.build(courtDataDTO)).thenReturn(laaStatusUpdate);
+        when(laaStatusPostCDAService.postAsync(laaStatusUpdate)).thenReturn(failedPost());
+
+        //when
+        laaStatusUpdateService.update(courtDataDTO, "logging");
+
+        //then
+        verify(laaStatusService).execute(courtDataDTO);
+        verify(cdaOutboxService, never()).record(any(), any());
+        assertThat(meterRegistry.get("laa.status.cda.failures").tag("policy", "LOG").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenConcurrentModeAndAnEarlierPostInTheOutbox_whenUpdated_thenUpdateQueuesBehindIt() {
+        //given
+        ReflectionTestUtils.setField(laaStatusUpdateService, "concurrent", true);
+        when(laaStatusPostCDAService.build(courtDataDTO)).thenReturn(laaStatusUpdate);
+        when(cdaOutboxService.hasUnsent(1234)).thenReturn(true);
+
+        //when
+        laaStatusUpdateService.update(courtDataDTO, "logging");
+
+        //then
+        InOrder inOrder = inOrder(laaStatusService, cdaOutboxService);
+        inOrder.verify(laaStatusService).execute(courtDataDTO);
+        inOrder.verify(cdaOutboxService).record(caseDetails, laaStatusUpdate);
+        verify(laaStatusPostCDAService, never()).postAsync(any());
+    }
+
+    private CompletableFuture<Void> failedPost() {
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("CDA unavailable"));
+        return failed;
+    }
+
+    @Test
+    public void givenOutboxIsEnabled_whenUpdated_thenCdaIsNotPostedDirectly() {
+        //given
+        when(cdaOutboxService.isEnabled()).thenReturn(true);
+
+        //when
+        laaStatusUpdateService.update(courtDataDTO, "logging");
+
+        //then
+        verify(laaStatusService).execute(courtDataDTO);
+        verifyNoInteractions(laaStatusPostCDAService);
+    }
+}
@@ -4,6 +4,7 @@ package gov.uk.courtdata.link.processor;
 import com.google.gson.Gson;
 import gov.uk.courtdata.builder.TestEntityDataBuilder;
 import gov.uk.courtdata.builder.TestModelDataBuilder;
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.dto.CourtDataDTO;
 import gov.uk.courtdata.entity.OffenceEntity;
 import gov.uk.courtdata.model.Offence;
@@ -14,6 +15,7 @@ import org.junit.runner.RunWith;
 import org.mockito.*;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Collections;
 import java.util.List;
 
 import static gov.uk.courtdata.constants.CourtDataConstants.G_NO;
@@ -28,6 +30,8 @@ public class OffenceInfoProcessorTest {
     private OffenceInfoProcessor offenceInfoProcessor;
     @Spy
     private OffenceRepository offenceRepository;
+    @Mock
+    private MessageEntityContext messageEntityContext;
 
     private TestModelDataBuilder testModelDataBuilder;
     @Captor
@@ -51,6 +55,7 @@ public class OffenceInfoProcessorTest {
 
         // then
         verify(offenceRepository).saveAll(OffenceCaptor.capture());
+        verify(messageEntityContext).recordOffences(courtDataDTO.getCaseId(), Collections.singletonList(offence.getAsnSeq()));
         assertThat(OffenceCaptor.getValue().get(0).getCaseId()).isEqualTo(courtDataDTO.getCaseId());
         assertThat(OffenceCaptor.getValue().get(0).getTxId()).isEqualTo(courtDataDTO.getTxId());
         assertThat(OffenceCaptor.getValue().get(0).getAsnSeq()).isEqualTo(offence.getAsnSeq());
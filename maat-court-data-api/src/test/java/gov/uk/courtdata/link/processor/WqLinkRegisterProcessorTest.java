@@ -3,6 +3,7 @@ package gov.uk.courtdata.link.processor;
 import com.google.gson.Gson;
 import gov.uk.courtdata.builder.TestEntityDataBuilder;
 import gov.uk.courtdata.builder.TestModelDataBuilder;
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.dto.CourtDataDTO;
 import gov.uk.courtdata.entity.SolicitorMAATDataEntity;
 import gov.uk.courtdata.entity.WqLinkRegisterEntity;
@@ -25,6 +26,8 @@ public class WqLinkRegisterProcessorTest {
     private WqLinkRegisterProcessor wqLinkRegisterProcessor;
     @Spy
     private WqLinkRegisterRepository wqLinkRegisterRepository;
+    @Mock
+    private MessageEntityContext messageEntityContext;
 
     private TestModelDataBuilder testModelDataBuilder;
 
@@ -1,9 +1,9 @@
 package gov.uk.courtdata.link.validator;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.entity.RepOrderCPDataEntity;
 import gov.uk.courtdata.exception.ValidationException;
 import gov.uk.courtdata.model.CaseDetails;
-import gov.uk.courtdata.repository.RepOrderCPDataRepository;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,7 +24,7 @@ public class CPDataValidatorTest {
     public ExpectedException thrown = ExpectedException.none();
 
     @Mock
-    private RepOrderCPDataRepository repOrderCPDataRepository;
+    private MessageEntityContext messageEntityContext;
 
     @InjectMocks
     private CPDataValidator CPDataValidator;
@@ -47,7 +47,7 @@ public class CPDataValidatorTest {
     public void testWhenCPDataNotExists_throwsException() {
 
         final int maatId = 1000;
-        Mockito.when(repOrderCPDataRepository.findByrepOrderId(maatId)).thenReturn(Optional.empty());
+        Mockito.when(messageEntityContext.findRepOrderCPData(maatId)).thenReturn(Optional.empty());
         thrown.expect(ValidationException.class);
         thrown.expectMessage("MaatId 1000 has no common platform data created against Maat application.");
 
@@ -61,7 +61,7 @@ public class CPDataValidatorTest {
 
         final int maatId = 1000;
         final String urn = "caseURN111";
-        Mockito.when(repOrderCPDataRepository.findByrepOrderId(maatId))
+        Mockito.when(messageEntityContext.findRepOrderCPData(maatId))
                 .thenReturn(Optional.of(RepOrderCPDataEntity.builder().repOrderId(maatId).caseUrn(urn).build()));
         CPDataValidator.validate(CaseDetails.builder().maatId(maatId)
                 .caseUrn(urn).build());
@@ -1,7 +1,7 @@
 package gov.uk.courtdata.link.validator;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.exception.ValidationException;
-import gov.uk.courtdata.repository.WqLinkRegisterRepository;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -24,7 +24,7 @@ public class LinkExistsValidatorTest {
     public ExpectedException thrown = ExpectedException.none();
 
     @Mock
-    private WqLinkRegisterRepository wqLinkRegisterRepository;
+    private MessageEntityContext messageEntityContext;
 
     @InjectMocks
     private LinkExistsValidator linkExistsValidator;
@@ -39,7 +39,7 @@ public class LinkExistsValidatorTest {
     public void testWhenLinkNotExists_validationPasses() {
 
         Integer testId = 1000;
-        Mockito.when(wqLinkRegisterRepository.getCountByMaatId(testId)).thenReturn(BigDecimal.ZERO.intValue());
+        Mockito.when(messageEntityContext.countLinkRegisters(testId)).thenReturn(BigDecimal.ZERO.intValue());
         Optional result = linkExistsValidator.validate(testId);
         Assert.assertFalse(result.isPresent());
 
@@ -47,7 +47,7 @@ public class LinkExistsValidatorTest {
 
     @Test
     public void testWhenLinkAlreadyExists_throwsException() {
-        Mockito.when(wqLinkRegisterRepository.getCountByMaatId(Mockito.anyInt()))
+        Mockito.when(messageEntityContext.countLinkRegisters(Mockito.anyInt()))
                 .thenReturn(BigDecimal.ONE.intValue());
 
         thrown.expect(ValidationException.class);
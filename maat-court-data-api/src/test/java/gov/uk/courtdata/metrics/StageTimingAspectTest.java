@@ -0,0 +1,110 @@
+package gov.uk.courtdata.metrics;
+
+import gov.uk.courtdata.dto.CourtDataDTO;
+import gov.uk.courtdata.exception.MAATCourtDataException;
+import gov.uk.courtdata.hearing.service.HearingResultedListener;
+import gov.uk.courtdata.link.processor.CaseInfoProcessor;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StageTimingAspectTest {
+
+    @Mock
+    private CaseInfoProcessor caseInfoProcessor;
+
+    @Mock
+    private HearingResultedListener hearingResultedListener;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CaseInfoProcessor caseInfoProcessorProxy;
+
+    private HearingResultedListener hearingResultedListenerProxy;
+
+    @Before
+    public void setUp() {
+        StageTimingAspect stageTimingAspect = new StageTimingAspect(meterRegistry);
+        caseInfoProcessorProxy = proxy(caseInfoProcessor, stageTimingAspect);
+        hearingResultedListenerProxy = proxy(hearingResultedListener, stageTimingAspect);
+    }
+
+    @Test
+    public void givenProcessorRunsOutsideAFlow_whenProcessed_thenStageIsTimedWithoutAFlow() {
+        //when
+        caseInfoProcessorProxy.process(CourtDataDTO.builder().build());
+
+        //then
+        Timer timer = meterRegistry.get(StageTimingAspect.STAGE_TIMER)
+                .tag("flow", StageTimingAspect.NO_FLOW)
+                .tag("outcome", "success")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.getId().getTag("stage")).endsWith(".process");
+    }
+
+    @Test
+    public void givenStageRunsRepeatedly_whenProcessed_thenOneTimerIsRegisteredAndReused() {
+        //when
+        caseInfoProcessorProxy.process(CourtDataDTO.builder().build());
+        caseInfoProcessorProxy.process(CourtDataDTO.builder().build());
+
+        //then
+        assertThat(meterRegistry.get(StageTimingAspect.STAGE_TIMER).timers()).hasSize(1);
+        assertThat(meterRegistry.get(StageTimingAspect.STAGE_TIMER).timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void givenListenerRunsAProcessor_whenReceived_thenStageIsTimedInTheListenerFlow() {
+        //given
+        doAnswer(invocation -> {
+            caseInfoProcessorProxy.process(CourtDataDTO.builder().build());
+            return null;
+        }).when(hearingResultedListener).receive(anyString());
+
+        //when
+        hearingResultedListenerProxy.receive("{}");
+
+        //then
+        Timer listenerTimer = meterRegistry.get(StageTimingAspect.LISTENER_TIMER).tag("outcome", "success").timer();
+        assertThat(listenerTimer.count()).isEqualTo(1);
+        Timer stageTimer = meterRegistry.get(StageTimingAspect.STAGE_TIMER).timer();
+        assertThat(stageTimer.getId().getTag("flow")).isEqualTo(listenerTimer.getId().getTag("listener"));
+        assertThat(stageTimer.getId().getTag("flow")).startsWith("HearingResultedListener");
+    }
+
+    @Test
+    public void givenStageFails_whenProcessed_thenFailureIsTimedAndRethrown() {
+        //given
+        doThrow(new MAATCourtDataException("failed")).when(caseInfoProcessor).process(any());
+
+        //when
+        assertThatThrownBy(() -> caseInfoProcessorProxy.process(CourtDataDTO.builder().build()))
+                .isInstanceOf(MAATCourtDataException.class);
+
+        //then
+        assertThat(meterRegistry.get(StageTimingAspect.STAGE_TIMER).tag("outcome", "failure").timer().count())
+                .isEqualTo(1);
+    }
+
+    private static <T> T proxy(final T target, final StageTimingAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory();
+        factory.setTarget(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+}
@@ -2,6 +2,7 @@ package gov.uk.courtdata.processor;
 
 import gov.uk.courtdata.entity.XLATOffenceEntity;
 import gov.uk.courtdata.exception.MAATCourtDataException;
+import gov.uk.courtdata.refdata.XLATReferenceCache;
 import gov.uk.courtdata.repository.XLATOffenceRepository;
 import org.junit.Before;
 import org.junit.Rule;
@@ -30,6 +31,8 @@ public class OffenceCodeRefDataProcessorTest {
 
     @Spy
     private XLATOffenceRepository xlatOffenceRepository;
+    @Mock
+    private XLATReferenceCache xlatReferenceCache;
 
     @Captor
     private ArgumentCaptor<XLATOffenceEntity> offenceCodeCaptor;
@@ -108,4 +111,20 @@ public class OffenceCodeRefDataProcessorTest {
         exceptionRule.expectMessage("A Null Offence Code is passed in");
         offenceCodeRefDataProcessor.processOffenceCode(null);
     }
+
+    @Test
+    public void testProcessOffenceCode_whenOffenceIsCached_thenRepositoryIsNotQueried() {
+
+        //given
+        String offenceCode = "CACHED";
+
+        //when
+        Mockito.when(xlatReferenceCache.containsOffenceCode(offenceCode)).thenReturn(true);
+
+        offenceCodeRefDataProcessor.processOffenceCode(offenceCode);
+
+        //then
+        verify(xlatOffenceRepository, times(0)).findById(offenceCode);
+        verify(xlatOffenceRepository, times(0)).save(Mockito.any());
+    }
 }
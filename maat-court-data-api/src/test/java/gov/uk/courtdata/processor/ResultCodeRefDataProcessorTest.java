@@ -2,6 +2,7 @@ package gov.uk.courtdata.processor;
 
 import gov.uk.courtdata.entity.XLATResultEntity;
 import gov.uk.courtdata.exception.MAATCourtDataException;
+import gov.uk.courtdata.refdata.XLATReferenceCache;
 import gov.uk.courtdata.repository.XLATResultRepository;
 import org.junit.Before;
 import org.junit.Rule;
@@ -30,6 +31,8 @@ public class ResultCodeRefDataProcessorTest {
 
     @Spy
     private XLATResultRepository xlatResultRepository;
+    @Mock
+    private XLATReferenceCache xlatReferenceCache;
 
     @Captor
     private ArgumentCaptor<XLATResultEntity> xlatResultArgumentCaptor;
@@ -89,4 +92,36 @@ public class ResultCodeRefDataProcessorTest {
         exceptionRule.expectMessage("A Null Result Code is passed in");
         resultCodeRefDataProcessor.processResultCode(null);
     }
+
+    @Test
+    public void testProcessResultCode_whenResultIsCached_thenRepositoryIsNotQueried() {
+
+        //given
+        Integer resultCode = 4444;
+
+        //when
+        Mockito.when(xlatReferenceCache.findWqType(resultCode)).thenReturn(Optional.of(1));
+
+        resultCodeRefDataProcessor.processResultCode(resultCode);
+
+        //then
+        verify(xlatResultRepository, times(0)).findById(resultCode);
+        verify(xlatResultRepository, times(0)).save(Mockito.any());
+    }
+
+    @Test
+    public void testProcessResultCode_whenNewResultIsSaved_thenItIsWrittenToCache() {
+
+        //given
+        Integer resultCode = 6666;
+
+        //when
+        Mockito.when(xlatResultRepository.findById(resultCode))
+                .thenReturn(Optional.empty());
+
+        resultCodeRefDataProcessor.processResultCode(resultCode);
+
+        //then
+        verify(xlatReferenceCache).putResult(resultCode, 8);
+    }
 }
@@ -0,0 +1,106 @@
+package gov.uk.courtdata.refdata;
+
+import gov.uk.courtdata.entity.AppealTypeEntity;
+import gov.uk.courtdata.entity.CourtHouseCodesEntity;
+import gov.uk.courtdata.entity.CrownCourtCode;
+import gov.uk.courtdata.entity.CrownCourtOutComeEntity;
+import gov.uk.courtdata.repository.AppealTypeRepository;
+import gov.uk.courtdata.repository.CourtHouseCodesRepository;
+import gov.uk.courtdata.repository.CrownCourtCodeRepository;
+import gov.uk.courtdata.repository.CrownCourtOutcomeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CourtReferenceDataTest {
+
+    @Mock
+    private AppealTypeRepository appealTypeRepository;
+    @Mock
+    private CrownCourtOutcomeRepository crownCourtOutcomeRepository;
+    @Mock
+    private CourtHouseCodesRepository courtHouseCodesRepository;
+    @Mock
+    private CrownCourtCodeRepository crownCourtCodeRepository;
+
+    private CourtReferenceData courtReferenceData;
+
+    @Before
+    public void setUp() {
+        courtReferenceData = new CourtReferenceData(appealTypeRepository, crownCourtOutcomeRepository,
+                courtHouseCodesRepository, crownCourtCodeRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void givenSnapshotIsLoaded_whenValuesAreLookedUp_thenRepositoriesAreNotQueried() {
+        //given
+        givenReferenceTables();
+        courtReferenceData.refresh();
+
+        //when
+        boolean appealType = courtReferenceData.isAppealType("ACV");
+        boolean outcome = courtReferenceData.isCrownCourtOutcome("CONVICTED");
+        boolean courtHouse = courtReferenceData.isCourtHouseCode("B16BG");
+        Optional<String> crownCourtCode = courtReferenceData.findCrownCourtCode("B16BG00");
+
+        //then
+        assertThat(appealType).isTrue();
+        assertThat(outcome).isTrue();
+        assertThat(courtHouse).isTrue();
+        assertThat(crownCourtCode).contains("433");
+        verify(appealTypeRepository, never()).existsById(anyString());
+        verify(crownCourtOutcomeRepository, never()).existsById(anyString());
+        verify(courtHouseCodesRepository, never()).getCount(anyString());
+        verify(crownCourtCodeRepository, never()).findByOuCode(anyString());
+    }
+
+    @Test
+    public void givenValueMissingFromSnapshot_whenLookedUp_thenDatabaseIsChecked() {
+        //given
+        when(courtHouseCodesRepository.getCount("B01LY")).thenReturn(1);
+        when(crownCourtCodeRepository.findByOuCode("C01LY00")).thenReturn(Optional.empty());
+
+        //when
+        boolean courtHouse = courtReferenceData.isCourtHouseCode("B01LY");
+        Optional<String> crownCourtCode = courtReferenceData.findCrownCourtCode("C01LY00");
+
+        //then
+        assertThat(courtHouse).isTrue();
+        assertThat(crownCourtCode).isEmpty();
+    }
+
+    @Test
+    public void givenSnapshotIsEvicted_whenEvictIsInvoked_thenSnapshotIsReloaded() {
+        //given
+        givenReferenceTables();
+
+        //when
+        CourtReferenceSnapshot snapshot = courtReferenceData.evict();
+
+        //then
+        assertThat(snapshot.getLoadedAt()).isNotNull();
+        assertThat(snapshot.getAppealTypes()).containsExactly("ACV");
+        assertThat(snapshot.getCrownCourtCodesByOuCode()).containsEntry("B16BG00", "433");
+    }
+
+    private void givenReferenceTables() {
+        when(appealTypeRepository.findAll())
+                .thenReturn(Collections.singletonList(AppealTypeEntity.builder().code("ACV").build()));
+        when(crownCourtOutcomeRepository.findAll())
+                .thenReturn(Collections.singletonList(CrownCourtOutComeEntity.builder().outcome("CONVICTED").build()));
+        when(courtHouseCodesRepository.findAll())
+                .thenReturn(Collections.singletonList(CourtHouseCodesEntity.builder().code("B16BG").build()));
+        when(crownCourtCodeRepository.findAll())
+                .thenReturn(Collections.singletonList(CrownCourtCode.builder().code("433").ouCode("B16BG00").build()));
+    }
+}
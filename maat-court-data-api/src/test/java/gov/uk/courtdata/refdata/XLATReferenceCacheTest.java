@@ -0,0 +1,129 @@
+package gov.uk.courtdata.refdata;
+
+import gov.uk.courtdata.entity.XLATOffenceEntity;
+import gov.uk.courtdata.entity.XLATResultEntity;
+import gov.uk.courtdata.repository.XLATOffenceRepository;
+import gov.uk.courtdata.repository.XLATResultRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class XLATReferenceCacheTest {
+
+    @Mock
+    private XLATOffenceRepository xlatOffenceRepository;
+    @Mock
+    private XLATResultRepository xlatResultRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private XLATReferenceCache xlatReferenceCache;
+
+    @Before
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        xlatReferenceCache = new XLATReferenceCache(xlatOffenceRepository, xlatResultRepository, meterRegistry);
+        xlatReferenceCache.init();
+    }
+
+    @Test
+    public void givenReferenceTables_whenRefreshed_thenCodesAreServedFromMemory() {
+        //given
+        when(xlatOffenceRepository.findAll())
+                .thenReturn(Collections.singletonList(XLATOffenceEntity.builder().offenceCode("CD98072").build()));
+        when(xlatResultRepository.findAll()).thenReturn(Arrays.asList(
+                XLATResultEntity.builder().cjsResultCode(3026).wqType(1).build(),
+                XLATResultEntity.builder().cjsResultCode(4000).build()));
+
+        //when
+        xlatReferenceCache.refresh();
+
+        //then
+        assertThat(xlatReferenceCache.containsOffenceCode("CD98072")).isTrue();
+        assertThat(xlatReferenceCache.containsOffenceCode("UNKNOWN")).isFalse();
+        assertThat(xlatReferenceCache.findWqType(3026)).contains(1);
+        assertThat(xlatReferenceCache.findWqType(4000)).isEmpty();
+        assertThat(meterRegistry.get("refdata.xlat.lookups").tag("cache", "offence").tag("outcome", "hit")
+                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("refdata.xlat.lookups").tag("cache", "result").tag("outcome", "miss")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenCodesWrittenThrough_whenLookedUp_thenTheyAreHits() {
+        //when
+        xlatReferenceCache.addOffenceCode("NEW001");
+        xlatReferenceCache.putResult(5555, 8);
+
+        //then
+        assertThat(xlatReferenceCache.containsOffenceCode("NEW001")).isTrue();
+        assertThat(xlatReferenceCache.findWqType(5555)).contains(8);
+    }
+
+    @Test
+    public void givenRefreshFails_whenRefreshed_thenCurrentEntriesAreKept() {
+        //given
+        xlatReferenceCache.putResult(5555, 8);
+        when(xlatOffenceRepository.findAll()).thenThrow(new IllegalStateException("database unavailable"));
+
+        //when
+        xlatReferenceCache.refresh();
+
+        //then
+        assertThat(xlatReferenceCache.findWqType(5555)).contains(8);
+    }
+
+    @Test
+    public void givenWriteThroughInsideATransaction_whenItRollsBack_thenCodesAreNotCached() {
+        //given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            xlatReferenceCache.addOffenceCode("NEW001");
+            xlatReferenceCache.putResult(9999, 2);
+
+            //when
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        //then
+        assertThat(xlatReferenceCache.containsOffenceCode("NEW001")).isFalse();
+        assertThat(xlatReferenceCache.findWqType(9999)).isEmpty();
+    }
+
+    @Test
+    public void givenWriteThroughInsideATransaction_whenItCommits_thenCodesAreCachedAfterTheCommit() {
+        //given
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            xlatReferenceCache.addOffenceCode("NEW001");
+            xlatReferenceCache.putResult(9999, 2);
+            assertThat(xlatReferenceCache.containsOffenceCode("NEW001")).isFalse();
+
+            //when
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        //then
+        assertThat(xlatReferenceCache.containsOffenceCode("NEW001")).isTrue();
+        assertThat(xlatReferenceCache.findWqType(9999)).contains(2);
+    }
+}
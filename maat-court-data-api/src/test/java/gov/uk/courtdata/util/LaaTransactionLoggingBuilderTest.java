@@ -0,0 +1,48 @@
+package gov.uk.courtdata.util;
+
+import com.google.gson.JsonSyntaxException;
+import gov.uk.courtdata.model.LaaTransactionLogging;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LaaTransactionLoggingBuilderTest {
+
+    @Test
+    public void givenMessageWithNestedPayload_whenGetIsInvoked_thenOnlyLoggingFieldsAreRead() {
+
+        //given
+        String message = "{\"defendant\": {\"maatId\": 999, \"offences\": [{\"asnSeq\": \"001\", \"results\": [1, 2]}]},\n" +
+                "  \"laaTransactionId\": \"c77c96ff-7cad-44cc-9e12-5bc80f5f2d9e\",\n" +
+                "  \"caseUrn\": \"CASNUM-ABC123\",\n" +
+                "  \"maatId\": \"1234\",\n" +
+                "  \"sessions\": [{\"courtLocation\": \"B16BG\"}]}";
+
+        //when
+        LaaTransactionLogging logging = LaaTransactionLoggingBuilder.get(message);
+
+        //then
+        assertThat(logging.getLaaTransactionId()).isEqualTo(UUID.fromString("c77c96ff-7cad-44cc-9e12-5bc80f5f2d9e"));
+        assertThat(logging.getCaseUrn()).isEqualTo("CASNUM-ABC123");
+        assertThat(logging.getMaatId()).isEqualTo(1234);
+    }
+
+    @Test
+    public void givenMessageWithNullFields_whenGetIsInvoked_thenFieldsAreNull() {
+
+        //when
+        LaaTransactionLogging logging = LaaTransactionLoggingBuilder.get("{\"maatId\": 1234, \"caseUrn\": null}");
+
+        //then
+        assertThat(logging.getMaatId()).isEqualTo(1234);
+        assertThat(logging.getCaseUrn()).isNull();
+        assertThat(logging.getLaaTransactionId()).isNull();
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void givenMessageIsNotAnObject_whenGetIsInvoked_thenJsonSyntaxExceptionIsThrown() {
+        LaaTransactionLoggingBuilder.get("[1234]");
+    }
+}
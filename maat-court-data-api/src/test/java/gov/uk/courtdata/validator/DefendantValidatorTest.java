@@ -1,9 +1,9 @@
 package gov.uk.courtdata.validator;
 
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.entity.DefendantMAATDataEntity;
 import gov.uk.courtdata.exception.ValidationException;
-import gov.uk.courtdata.repository.DefendantMAATDataRepository;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -26,7 +26,7 @@ public class DefendantValidatorTest {
     public ExpectedException thrown = ExpectedException.none();
 
     @Mock
-    private DefendantMAATDataRepository maatDataRepository;
+    private MessageEntityContext messageEntityContext;
 
     @InjectMocks
     private DefendantValidator defendantValidator;
@@ -41,7 +41,7 @@ public class DefendantValidatorTest {
     public void testWhenDefendantDetailsExists_returnsEntity() {
 
         Integer testId = 1000;
-        Mockito.when(maatDataRepository.findBymaatId(testId))
+        Mockito.when(messageEntityContext.findDefendantMAATData(testId))
                 .thenReturn(Optional.of(DefendantMAATDataEntity.builder().maatId(testId).build()));
         Optional<DefendantMAATDataEntity> defendantEntity =
                 defendantValidator.validate(testId);
@@ -1,8 +1,8 @@
 package gov.uk.courtdata.validator;
 
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.exception.MAATCourtDataException;
-import gov.uk.courtdata.repository.WqLinkRegisterRepository;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,7 +22,7 @@ public class LinkRegisterValidatorTest {
     @InjectMocks
     private LinkRegisterValidator linkRegisterValidator;
     @Mock
-    private WqLinkRegisterRepository wqLinkRegisterRepository;
+    private MessageEntityContext messageEntityContext;
 
     @Rule
     public ExpectedException exceptionRule = ExpectedException.none();
@@ -36,7 +36,7 @@ public class LinkRegisterValidatorTest {
     public void givenZeroLinks_whenValidatorsIsInvoked_thenValidationIsFailed() {
 
 
-        when(wqLinkRegisterRepository.getCountByMaatId(Mockito.anyInt()))
+        when(messageEntityContext.countLinkRegisters(Mockito.anyInt()))
                 .thenReturn(0);
         exceptionRule.expect(MAATCourtDataException.class);
         exceptionRule.expectMessage("MAAT Id : "+10+" not linked.");
@@ -47,7 +47,7 @@ public class LinkRegisterValidatorTest {
     public void givenMoreThanOneLinksAvailable_whenValidatorsIsInvoked_thenValidationIsFailed() {
 
 
-        when(wqLinkRegisterRepository.getCountByMaatId(Mockito.anyInt()))
+        when(messageEntityContext.countLinkRegisters(Mockito.anyInt()))
                 .thenReturn(2);
         exceptionRule.expect(MAATCourtDataException.class);
         exceptionRule.expectMessage("Multiple Links found for  MAAT Id : " + 10);
@@ -1,8 +1,8 @@
 package gov.uk.courtdata.validator;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.entity.RepOrderEntity;
 import gov.uk.courtdata.exception.ValidationException;
-import gov.uk.courtdata.repository.RepOrderRepository;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,7 +28,7 @@ public class MaatIdValidatorTest {
     private MaatIdValidator maatIdValidator;
 
     @Mock
-    private RepOrderRepository repOrderRepository;
+    private MessageEntityContext messageEntityContext;
 
     @BeforeEach
     public void setUp() {
@@ -51,7 +51,7 @@ public class MaatIdValidatorTest {
 
     @Test
     public void testWhenMaatIsNotNullButNotOnRepOrder_validationPasses() {
-        when(repOrderRepository.findById(1000)).thenReturn(Optional.empty());
+        when(messageEntityContext.findRepOrder(1000)).thenReturn(Optional.empty());
         thrown.expect(ValidationException.class);
         thrown.expectMessage("1000 is Not a Valid MAAT ID");
         maatIdValidator.validate(1000);
@@ -60,7 +60,7 @@ public class MaatIdValidatorTest {
     @Test
     public void testWhenMaatIsNotNullButExistOnRepOrder_validationPasses() {
         final RepOrderEntity repOrderEntity = RepOrderEntity.builder().id(1000).build();
-        when(repOrderRepository.findById(1000)).thenReturn(Optional.of(repOrderEntity));
+        when(messageEntityContext.findRepOrder(1000)).thenReturn(Optional.of(repOrderEntity));
 
         Optional<Void> result = maatIdValidator.validate(1000);
         assertThat(result).isEqualTo(Optional.empty());
@@ -3,7 +3,7 @@ package gov.uk.courtdata.validator;
 import gov.uk.courtdata.exception.ValidationException;
 import gov.uk.courtdata.model.CaseDetails;
 import gov.uk.courtdata.model.Session;
-import gov.uk.courtdata.repository.CourtHouseCodesRepository;
+import gov.uk.courtdata.refdata.CourtReferenceData;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,7 +26,7 @@ public class ReferenceDataValidatorTest {
     public ExpectedException thrown = ExpectedException.none();
 
     @Mock
-    private CourtHouseCodesRepository courtHouseCodesRepository;
+    private CourtReferenceData courtReferenceData;
 
     @InjectMocks
     private ReferenceDataValidator referenceDataValidator;
@@ -39,7 +39,7 @@ public class ReferenceDataValidatorTest {
     @Test
     public void testWhenCourtLocationNotFound_throwsException() {
 
-        when(courtHouseCodesRepository.getCount("B1J10")).thenReturn(0);
+        when(courtReferenceData.isCourtHouseCode("B1J10")).thenReturn(false);
         thrown.expect(ValidationException.class);
         thrown.expectMessage("Court location not found B1J10");
 
@@ -51,7 +51,7 @@ public class ReferenceDataValidatorTest {
     @Test
     public void testWhenCourtLocationExists_validationPasses() {
 
-        when(courtHouseCodesRepository.getCount("B1J10")).thenReturn(1);
+        when(courtReferenceData.isCourtHouseCode("B1J10")).thenReturn(true);
 
         referenceDataValidator.validate(CaseDetails.builder().maatId(100).cjsAreaCode("16")
                 .sessions(Arrays.asList(Session.builder().courtLocation("B1J10").build()))
@@ -62,7 +62,7 @@ public class ReferenceDataValidatorTest {
     @Test
     public void testWhenMultiSessionCourtAnyMissing_throwsException() {
 
-        when(courtHouseCodesRepository.getCount(anyString())).thenReturn(0);
+        when(courtReferenceData.isCourtHouseCode(anyString())).thenReturn(false);
         thrown.expect(ValidationException.class);
         thrown.expectMessage("Court location not found B1J10");
 
@@ -76,7 +76,7 @@ public class ReferenceDataValidatorTest {
     @Test
     public void testWhenMultipleSessions_courtLocationValidated() {
 
-        when(courtHouseCodesRepository.getCount(anyString())).thenReturn(1);
+        when(courtReferenceData.isCourtHouseCode(anyString())).thenReturn(true);
 
         referenceDataValidator.validate(CaseDetails.builder().maatId(100).cjsAreaCode("16")
                 .sessions(Arrays.asList(Session.builder().courtLocation("B1J10").build(),
@@ -1,8 +1,8 @@
 package gov.uk.courtdata.validator;
 
+import gov.uk.courtdata.context.MessageEntityContext;
 import gov.uk.courtdata.entity.SolicitorMAATDataEntity;
 import gov.uk.courtdata.exception.ValidationException;
-import gov.uk.courtdata.repository.SolicitorMAATDataRepository;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,7 +25,7 @@ public class SolicitorValidatorTest {
     public ExpectedException thrown = ExpectedException.none();
 
     @Mock
-    private SolicitorMAATDataRepository solicitorMAATDataRepository;
+    private MessageEntityContext messageEntityContext;
 
     @InjectMocks
     private SolicitorValidator solicitorValidator;
@@ -42,7 +42,7 @@ public class SolicitorValidatorTest {
         final int testMaatId = 1000;
         thrown.expect(ValidationException.class);
         thrown.expectMessage(format("Solicitor not found for maatId %s", testMaatId));
-        when(solicitorMAATDataRepository.findBymaatId(testMaatId)).thenReturn(Optional.empty());
+        when(messageEntityContext.findSolicitorMAATData(testMaatId)).thenReturn(Optional.empty());
         solicitorValidator.validate(testMaatId);
 
 
@@ -54,7 +54,7 @@ public class SolicitorValidatorTest {
         final int testMaatId = 1000;
         thrown.expect(ValidationException.class);
         thrown.expectMessage(format("Solicitor account code not available for maatId %s.", testMaatId));
-        when(solicitorMAATDataRepository.findBymaatId(testMaatId))
+        when(messageEntityContext.findSolicitorMAATData(testMaatId))
                 .thenReturn(Optional.of(SolicitorMAATDataEntity.builder().maatId(testMaatId).accountCode("  ").build()));
         solicitorValidator.validate(testMaatId);
 
@@ -64,7 +64,7 @@ public class SolicitorValidatorTest {
     @Test
     public void testWhenSolicitorDetailsExists_validationPasses() {
         final int testMaatId = 1000;
-        when(solicitorMAATDataRepository.findBymaatId(testMaatId))
+        when(messageEntityContext.findSolicitorMAATData(testMaatId))
                 .thenReturn(Optional.of(SolicitorMAATDataEntity.builder().maatId(testMaatId).accountCode("SOC1212").build()));
         solicitorValidator.validate(testMaatId);
     }
@@ -4,3 +4,4 @@ CREATE SEQUENCE  IF NOT EXISTS "MLA"."TXID";
 CREATE SEQUENCE  IF NOT EXISTS "MLA"."CASEID";
 CREATE SEQUENCE  IF NOT EXISTS "MLA"."PROCEDING";
 CREATE SEQUENCE  IF NOT EXISTS "MLA"."LIBRAID";
+CREATE SEQUENCE  IF NOT EXISTS "MLA"."CDA_OUTBOX_ID";